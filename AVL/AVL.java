@@ -2,15 +2,25 @@ import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
  * Creates an AVL Tree
  *
+ * Every node caches its height, balance factor and subtree size, and
+ * they are recomputed from the children's cached values only along the
+ * path that add/remove walks, so both are O(log n). Run with assertions
+ * enabled (java -ea) to check every invariant after each add and remove.
+ *
  * @author Lovissa Winyoto
  * @version 1.0
  */
-public class AVL<T extends Comparable<? super T>> implements AVLInterface<T> {
+public class AVL<T extends Comparable<? super T>> implements AVLInterface<T>,
+        Iterable<T> {
 
     private AVLNode<T> root;
     private int size;
@@ -35,15 +45,198 @@ public class AVL<T extends Comparable<? super T>> implements AVLInterface<T> {
         data.forEach(this::add);
     }
 
+    /**
+     * Creates an AVL with the data in the collection. If the collection
+     * iterates in ascending order (duplicates are skipped), the tree is
+     * built bottom-up, perfectly balanced, in O(n). Otherwise the data is
+     * added one at a time in O(n log n), like AVL(Collection).
+     *
+     * @param data the data to add to the tree
+     * @param <T> the type of the data
+     * @throws IllegalArgumentException if data or any element in data is null
+     * @return the new AVL
+     */
+    public static <T extends Comparable<? super T>> AVL<T> fromSorted(
+            Collection<T> data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+        List<T> sorted = new ArrayList<T>(data.size());
+        for (T current : data) {
+            if (current == null) {
+                throw new IllegalArgumentException("Illegal Argument!");
+            }
+            if (!sorted.isEmpty()) {
+                int compared = sorted.get(sorted.size() - 1)
+                        .compareTo(current);
+                if (compared > 0) {
+                    return new AVL<T>(data);
+                } else if (compared == 0) {
+                    continue;
+                }
+            }
+            sorted.add(current);
+        }
+        AVL<T> tree = new AVL<T>();
+        tree.root = tree.build(sorted, 0, sorted.size() - 1);
+        tree.size = sorted.size();
+        assert tree.verify(tree.root, null, null) == tree.height();
+        return tree;
+    }
+
+    /**
+     * Private helper method that builds a perfectly balanced subtree
+     * out of sorted data with a running time of O(n)
+     * @param sorted the data in ascending order
+     * @param lo index of the smallest data of the subtree
+     * @param hi index of the largest data of the subtree
+     * @return the root of the subtree, null if lo is greater than hi
+     */
+    private AVLNode<T> build(List<T> sorted, int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        AVLNode<T> current = new AVLNode<T>(sorted.get(mid));
+        current.setLeft(build(sorted, lo, mid - 1));
+        current.setRight(build(sorted, mid + 1, hi));
+        return update(current);
+    }
+
+    /**
+     * Removes every data greater than or equal to the given data from
+     * this tree and returns it as a new AVL, with a running time of
+     * O(log n)
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to split at
+     * @return a new AVL with the data greater than or equal to the data
+     */
+    public AVL<T> split(T data) {
+        checkIAE(data);
+        AVLNode<T> dummy = new AVLNode<T>(null);
+        split(root, data, dummy);
+        root = dummy.getLeft();
+        size = sizeOf(root);
+        AVL<T> greater = new AVL<T>();
+        greater.root = dummy.getRight();
+        greater.size = sizeOf(greater.root);
+        assert verify(root, null, null) == height();
+        assert greater.verify(greater.root, null, null) == greater.height();
+        return greater;
+    }
+
+    /**
+     * Recursive helper method for the split(T data) method with a
+     * running time of O(log n)
+     * @param current the root of the subtree to be split
+     * @param data the data to split at
+     * @param dummy a node whose left is set to the subtree of data less
+     *              than the data and whose right is set to the rest
+     */
+    private void split(AVLNode<T> current, T data, AVLNode<T> dummy) {
+        if (current == null) {
+            dummy.setLeft(null);
+            dummy.setRight(null);
+        } else if (current.getData().compareTo(data) < 0) {
+            AVLNode<T> left = current.getLeft();
+            split(current.getRight(), data, dummy);
+            dummy.setLeft(join(left, current, dummy.getLeft()));
+        } else {
+            AVLNode<T> right = current.getRight();
+            split(current.getLeft(), data, dummy);
+            dummy.setRight(join(dummy.getRight(), current, right));
+        }
+    }
+
+    /**
+     * Moves every data of the other tree into this tree with a running
+     * time of O(log n). Every data in the other tree must be greater than
+     * every data in this tree. The other tree is empty afterwards.
+     * @throws IllegalArgumentException if other is null, is this tree, or
+     * has data that is not greater than every data in this tree
+     * @param other the tree to be joined after this tree
+     */
+    public void join(AVL<T> other) {
+        if (other == null || other == this) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        } else if (other.root == null) {
+            return;
+        } else if (root != null
+                && max(root).compareTo(min(other.root)) >= 0) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+        if (root == null) {
+            root = other.root;
+        } else {
+            AVLNode<T> predecessor = new AVLNode<T>(null);
+            AVLNode<T> left = removePredecessor(root, predecessor);
+            root = join(left, new AVLNode<T>(predecessor.getData()),
+                    other.root);
+        }
+        size += other.size;
+        other.clear();
+        assert verify(root, null, null) == height();
+    }
+
+    /**
+     * Private helper method that joins two subtrees and a node whose data
+     * is between them into one AVL subtree with a running time of
+     * O(|height of left - height of right|)
+     * @param left the subtree with the smaller data
+     * @param middle the node with data between the two subtrees
+     * @param right the subtree with the larger data
+     * @return the root of the joined subtree
+     */
+    private AVLNode<T> join(AVLNode<T> left, AVLNode<T> middle,
+                            AVLNode<T> right) {
+        if (heightOf(left) > heightOf(right) + 1) {
+            left.setRight(join(left.getRight(), middle, right));
+            return checkAVL(left);
+        } else if (heightOf(right) > heightOf(left) + 1) {
+            right.setLeft(join(left, middle, right.getLeft()));
+            return checkAVL(right);
+        } else {
+            middle.setLeft(left);
+            middle.setRight(right);
+            return update(middle);
+        }
+    }
+
+    /**
+     * Private helper method that finds the smallest data of a subtree
+     * @param current the root of a non-empty subtree
+     * @return the smallest data
+     */
+    private T min(AVLNode<T> current) {
+        while (current.getLeft() != null) {
+            current = current.getLeft();
+        }
+        return current.getData();
+    }
+
+    /**
+     * Private helper method that finds the largest data of a subtree
+     * @param current the root of a non-empty subtree
+     * @return the largest data
+     */
+    private T max(AVLNode<T> current) {
+        while (current.getRight() != null) {
+            current = current.getRight();
+        }
+        return current.getData();
+    }
+
     @Override
     public void add(T data) {
         checkIAE(data);
         root = add(root, data);
+        assert verify(root, null, null) == height();
     }
 
     /**
      * Private helper method that recursively adds a data
-     * in the AVL tree
+     * in the AVL tree and rebalances the path back up with
+     * a running time of O(log n)
      * @param current the current node to be checked
      * @param data the data to be added
      * @return the node returned
@@ -53,57 +246,79 @@ public class AVL<T extends Comparable<? super T>> implements AVLInterface<T> {
             size++;
             return new AVLNode<T>(data);
         } else {
-            if (current.getData().compareTo(data) < 0) {
+            int compared = current.getData().compareTo(data);
+            if (compared < 0) {
                 current.setRight(add(current.getRight(), data));
-            } else if (current.getData().compareTo(data) > 0) {
+            } else if (compared > 0) {
                 current.setLeft(add(current.getLeft(), data));
+            } else {
+                return current;
             }
-            update(current.getRight());
-            update(current.getLeft());
-            return checkAVL(update(current));
+            return checkAVL(current);
         }
     }
 
     /**
      * This is a private helper method that updates the
-     * height and balance factor in a node
+     * height, balance factor and size of a node from the values
+     * cached in its children with a running time of O(1)
      * @param current the node to be updated
      * @return the node to be updated with the
      * updated height and balance factor
      */
     private AVLNode<T> update(AVLNode<T> current) {
         if (current != null) {
-            current.setHeight(height(current));
-            current.setBalanceFactor(calculateBF(current));
+            int leftHeight = heightOf(current.getLeft());
+            int rightHeight = heightOf(current.getRight());
+            current.setHeight(Math.max(leftHeight, rightHeight) + 1);
+            current.setBalanceFactor(leftHeight - rightHeight);
+            current.setSize(sizeOf(current.getLeft())
+                    + sizeOf(current.getRight()) + 1);
         }
         return current;
     }
 
     /**
-     * This is a private helper method that checks if the
-     * AVL properties of the tree
+     * A private helper method that gets the cached height of a node
+     * @param current the node
+     * @return the height of the node, -1 if it is null
+     */
+    private int heightOf(AVLNode<T> current) {
+        return (current == null) ? -1 : current.getHeight();
+    }
+
+    /**
+     * A private helper method that gets the size of a subtree
+     * @param current the root of the subtree
+     * @return the number of nodes in the subtree, 0 if it is empty
+     */
+    private int sizeOf(AVLNode<T> current) {
+        return (current == null) ? 0 : current.getSize();
+    }
+
+    /**
+     * This is a private helper method that updates a node whose
+     * children are up to date and rotates it if it breaks the
+     * AVL properties
      * @param current the tree to be checked
      * @return the tree that follows the AVL properties
      */
     private AVLNode<T> checkAVL(AVLNode<T> current) {
-        if (Math.abs(current.getBalanceFactor()) > 1) {
-            if (current.getBalanceFactor() > 1) {
-                if (current.getLeft().getBalanceFactor() >= 0) {
-                    current = update(rotateLeftLeft(current));
-                } else {
-                    current = update(rotateLeftRight(current));
-                }
+        update(current);
+        if (current.getBalanceFactor() > 1) {
+            if (current.getLeft().getBalanceFactor() >= 0) {
+                current = rotateLeftLeft(current);
             } else {
-                if (current.getRight().getBalanceFactor() <= 0) {
-                    current = update(rotateRightRight(current));
-                } else {
-                    current = update(rotateRightLeft(current));
-                }
+                current = rotateLeftRight(current);
+            }
+        } else if (current.getBalanceFactor() < -1) {
+            if (current.getRight().getBalanceFactor() <= 0) {
+                current = rotateRightRight(current);
+            } else {
+                current = rotateRightLeft(current);
             }
         }
-        update(current.getLeft());
-        update(current.getRight());
-        return update(current);
+        return current;
     }
 
     /**
@@ -115,11 +330,9 @@ public class AVL<T extends Comparable<? super T>> implements AVLInterface<T> {
     private AVLNode<T> rotateLeftLeft(AVLNode<T> current) {
         AVLNode<T> max = current;
         AVLNode<T> mid = current.getLeft();
-        AVLNode<T> maxLeft = mid.getRight();
-        max.setLeft(maxLeft);
+        max.setLeft(mid.getRight());
         update(max);
         mid.setRight(max);
-        update(current);
         return update(mid);
     }
 
@@ -132,11 +345,9 @@ public class AVL<T extends Comparable<? super T>> implements AVLInterface<T> {
     private AVLNode<T> rotateRightRight(AVLNode<T> current) {
         AVLNode<T> min = current;
         AVLNode<T> mid = current.getRight();
-        AVLNode<T> minRight = mid.getLeft();
-        min.setRight(minRight);
+        min.setRight(mid.getLeft());
         update(min);
         mid.setLeft(min);
-        update(current);
         return update(mid);
     }
 
@@ -147,13 +358,7 @@ public class AVL<T extends Comparable<? super T>> implements AVLInterface<T> {
      * @return rotated nodes
      */
     private AVLNode<T> rotateLeftRight(AVLNode<T> current) {
-        AVLNode<T> mid = current.getLeft().getRight();
-        AVLNode<T> min = current.getLeft();
-        AVLNode<T> midL = mid.getLeft();
-
-        current.setLeft(mid);
-        mid.setLeft(min);
-        min.setRight(midL);
+        current.setLeft(rotateRightRight(current.getLeft()));
         return rotateLeftLeft(current);
     }
 
@@ -164,13 +369,7 @@ public class AVL<T extends Comparable<? super T>> implements AVLInterface<T> {
      * @return rotated nodes
      */
     private AVLNode<T> rotateRightLeft(AVLNode<T> current) {
-        AVLNode<T> mid = current.getRight().getLeft();
-        AVLNode<T> max = current.getRight();
-        AVLNode<T> midR = mid.getRight();
-
-        current.setRight(mid);
-        mid.setRight(max);
-        max.setLeft(midR);
+        current.setRight(rotateLeftLeft(current.getRight()));
         return rotateRightRight(current);
     }
 
@@ -182,94 +381,62 @@ public class AVL<T extends Comparable<? super T>> implements AVLInterface<T> {
             throw new NoSuchElementException("No Such Element!");
         } else {
             AVLNode<T> dummy = new AVLNode<T>(root.getData());
-            root = (remove(root, dummy, data));
+            root = remove(root, dummy, data);
             size--;
+            assert verify(root, null, null) == height();
             return dummy.getData();
         }
     }
 
     /**
-     * Recursive helper method for the remove(T data) method with a running time
-     * of O(log n) or worst case of O(n)
-     * @param current the current BSTNode
+     * Recursive helper method for the remove(T data) method that
+     * rebalances the path back up with a running time of O(log n)
+     * @param current the current node
      * @param dummy a node to keep track of the removed node
      * @param data the data to be removed
-     * @return the data removed
+     * @return the node that replaces current
      */
     private AVLNode<T> remove(AVLNode<T> current, AVLNode<T> dummy, T data) {
         if (current == null) {
             throw new NoSuchElementException("No Such Element!");
-        } else if (current.getData().compareTo(data) > 0) {
-            current.setLeft(update(remove(current.getLeft(), dummy, data)));
-            return update(checkAVL(update(current)));
-        } else if (current.getData().compareTo(data) < 0) {
-            current.setRight(update(remove(current.getRight(), dummy, data)));
-            return update(checkAVL(update(current)));
+        }
+        int compared = current.getData().compareTo(data);
+        if (compared > 0) {
+            current.setLeft(remove(current.getLeft(), dummy, data));
+        } else if (compared < 0) {
+            current.setRight(remove(current.getRight(), dummy, data));
         } else {
             dummy.setData(current.getData());
-            if (current.getLeft() == null && current.getRight() == null) {
-                return null;
-            } else if (current.getLeft() == null
-                    && current.getRight() != null) {
+            if (current.getLeft() == null) {
                 return current.getRight();
-            } else if (current.getLeft() != null
-                    && current.getRight() == null) {
+            } else if (current.getRight() == null) {
                 return current.getLeft();
             } else {
-                T predecessor = predecessor(current);
-                current.setData(predecessor);
-                update(current.getRight());
-                update(current.getLeft());
-                return update(checkAVL(current));
+                AVLNode<T> predecessor = new AVLNode<T>(null);
+                current.setLeft(removePredecessor(current.getLeft(),
+                        predecessor));
+                current.setData(predecessor.getData());
             }
         }
+        return checkAVL(current);
     }
 
     /**
-     * Recursive helper method for the remove method to find the successor
-     * of the data to be removed if it had two children
-     * @param toRemove node that is searching for its successor
-     * @return the data of the successor
+     * Recursive helper method for the remove method that removes the
+     * largest node of a subtree, which is the predecessor of the data
+     * to be removed if it had two children
+     * @param current the root of the subtree
+     * @param predecessor a node to keep track of the predecessor's data
+     * @return the node that replaces current
      */
-    private T successor(AVLNode<T> toRemove) {
-        AVLNode<T> nodeS = toRemove.getRight();
-        AVLNode<T> beforeS = toRemove;
-        while (nodeS.getLeft() != null) {
-            beforeS = nodeS;
-            nodeS = nodeS.getLeft();
-        }
-        T data = nodeS.getData();
-        AVLNode<T> dummy2 = new AVLNode<T>(nodeS.getData());
-        if (beforeS == root) {
-            beforeS.setRight(update(nodeS.getRight()));
-        } else {
-            beforeS.setLeft(update(remove(nodeS, dummy2, data)));
+    private AVLNode<T> removePredecessor(AVLNode<T> current,
+                                         AVLNode<T> predecessor) {
+        if (current.getRight() == null) {
+            predecessor.setData(current.getData());
+            return current.getLeft();
         }
-        return data;
-    }
-
-    /**
-     * Recursive helper method for the remove method to find the predecessor
-     * of the data to be removed if it had two children
-     * @param toRemove node that is searching for its predecessor
-     * @return the data of the predecessor
-     */
-    private T predecessor(AVLNode<T> toRemove) {
-        AVLNode<T> nodeP = toRemove.getLeft();
-        AVLNode<T> beforeP = toRemove;
-        while (nodeP.getRight() != null) {
-            beforeP = nodeP;
-            nodeP = nodeP.getRight();
-        }
-        T data = nodeP.getData();
-        AVLNode<T> dummy2 = new AVLNode<T>(nodeP.getData());
-        if (beforeP == root) {
-            beforeP.setLeft(nodeP.getLeft());
-        } else {
-            remove(data);
-            size++;
-        }
-        return data;
+        current.setRight(removePredecessor(current.getRight(), predecessor));
+        return checkAVL(current);
     }
 
     @Override
@@ -315,6 +482,233 @@ public class AVL<T extends Comparable<? super T>> implements AVLInterface<T> {
         return size;
     }
 
+    /**
+     * Finds the k-th smallest data in the tree with a running time
+     * of O(log n)
+     * @throws java.lang.IndexOutOfBoundsException if k is negative or
+     * k is not less than the size of the tree
+     * @param k the index of the data in sorted order, starting at 0
+     * @return the k-th smallest data
+     */
+    public T select(int k) {
+        if (k < 0 || k >= size) {
+            throw new IndexOutOfBoundsException("Index: " + k
+                    + ", Size: " + size);
+        }
+        AVLNode<T> current = root;
+        while (sizeOf(current.getLeft()) != k) {
+            if (k < sizeOf(current.getLeft())) {
+                current = current.getLeft();
+            } else {
+                k -= sizeOf(current.getLeft()) + 1;
+                current = current.getRight();
+            }
+        }
+        return current.getData();
+    }
+
+    /**
+     * Counts the data in the tree that is smaller than the given data
+     * with a running time of O(log n). The data does not need to be
+     * in the tree.
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to be ranked
+     * @return the number of data smaller than the given data, which is
+     * the index of the data in sorted order if it is in the tree
+     */
+    public int rank(T data) {
+        checkIAE(data);
+        int rank = 0;
+        AVLNode<T> current = root;
+        while (current != null) {
+            int compared = current.getData().compareTo(data);
+            if (compared < 0) {
+                rank += sizeOf(current.getLeft()) + 1;
+                current = current.getRight();
+            } else if (compared > 0) {
+                current = current.getLeft();
+            } else {
+                return rank + sizeOf(current.getLeft());
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Counts the data in the tree between lo and hi, both inclusive,
+     * with a running time of O(log n)
+     * @throws IllegalArgumentException if lo or hi is null
+     * @param lo the smallest data to be counted
+     * @param hi the largest data to be counted
+     * @return the number of data in [lo, hi], 0 if lo is greater than hi
+     */
+    public int count(T lo, T hi) {
+        checkIAE(lo);
+        checkIAE(hi);
+        if (lo.compareTo(hi) > 0) {
+            return 0;
+        }
+        int count = rank(hi) - rank(lo);
+        return contains(hi) ? count + 1 : count;
+    }
+
+    /**
+     * Iterates over the data in ascending order. The iterator is lazy: it
+     * only keeps the path to the next node, so it uses O(log n) memory
+     * and getting the first k data visits O(log n + k) nodes. The tree
+     * should not be modified while it is being iterated.
+     *
+     * @return an iterator over the data in ascending order
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new InorderIterator(root, null, null);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size,
+                Spliterator.ORDERED | Spliterator.SORTED
+                        | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * Gets a lazy view of the data from lo (inclusive) to hi (exclusive)
+     * in ascending order. Getting the first k data visits O(log n + k)
+     * nodes.
+     * @throws IllegalArgumentException if lo or hi is null, or if lo is
+     * greater than hi
+     * @param lo the smallest data of the view
+     * @param hi the data right after the largest data of the view
+     * @return the data in [lo, hi)
+     */
+    public Iterable<T> subSet(T lo, T hi) {
+        checkIAE(lo);
+        checkIAE(hi);
+        if (lo.compareTo(hi) > 0) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+        return () -> new InorderIterator(root, lo, hi);
+    }
+
+    /**
+     * Gets a lazy view of the data less than hi in ascending order.
+     * @throws IllegalArgumentException if hi is null
+     * @param hi the data right after the largest data of the view
+     * @return the data less than hi
+     */
+    public Iterable<T> headSet(T hi) {
+        checkIAE(hi);
+        return () -> new InorderIterator(root, null, hi);
+    }
+
+    /**
+     * Gets a lazy view of the data greater than or equal to lo in
+     * ascending order.
+     * @throws IllegalArgumentException if lo is null
+     * @param lo the smallest data of the view
+     * @return the data greater than or equal to lo
+     */
+    public Iterable<T> tailSet(T lo) {
+        checkIAE(lo);
+        return () -> new InorderIterator(root, lo, null);
+    }
+
+    /**
+     * Finds the largest data less than or equal to the given data with a
+     * running time of O(log n)
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to be compared
+     * @return the largest data less than or equal to data, null if none
+     */
+    public T floor(T data) {
+        checkIAE(data);
+        T found = null;
+        AVLNode<T> current = root;
+        while (current != null) {
+            int compared = current.getData().compareTo(data);
+            if (compared == 0) {
+                return current.getData();
+            } else if (compared < 0) {
+                found = current.getData();
+                current = current.getRight();
+            } else {
+                current = current.getLeft();
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the smallest data greater than or equal to the given data
+     * with a running time of O(log n)
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to be compared
+     * @return the smallest data greater than or equal to data, null if
+     * none
+     */
+    public T ceiling(T data) {
+        checkIAE(data);
+        T found = null;
+        AVLNode<T> current = root;
+        while (current != null) {
+            int compared = current.getData().compareTo(data);
+            if (compared == 0) {
+                return current.getData();
+            } else if (compared > 0) {
+                found = current.getData();
+                current = current.getLeft();
+            } else {
+                current = current.getRight();
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the smallest data strictly greater than the given data with a
+     * running time of O(log n)
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to be compared
+     * @return the smallest data greater than data, null if none
+     */
+    public T higher(T data) {
+        checkIAE(data);
+        T found = null;
+        AVLNode<T> current = root;
+        while (current != null) {
+            if (current.getData().compareTo(data) > 0) {
+                found = current.getData();
+                current = current.getLeft();
+            } else {
+                current = current.getRight();
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the largest data strictly less than the given data with a
+     * running time of O(log n)
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to be compared
+     * @return the largest data less than data, null if none
+     */
+    public T lower(T data) {
+        checkIAE(data);
+        T found = null;
+        AVLNode<T> current = root;
+        while (current != null) {
+            if (current.getData().compareTo(data) < 0) {
+                found = current.getData();
+                current = current.getRight();
+            } else {
+                current = current.getLeft();
+            }
+        }
+        return found;
+    }
+
     @Override
     public List<T> preorder() {
         //preorder: data, left, right
@@ -387,38 +781,21 @@ public class AVL<T extends Comparable<? super T>> implements AVLInterface<T> {
     @Override
     public List<T> levelorder() {
         List<T> toReturn = new ArrayList<T>(size);
-        if (root == null) {
-            return toReturn;
-        } else {
-            LinkedList<AVLNode<T>> aQueue = new LinkedList<AVLNode<T>>();
+        if (root != null) {
+            Deque<AVLNode<T>> aQueue = new ArrayDeque<AVLNode<T>>();
             aQueue.addLast(root);
-            toReturn = levelorder(toReturn, root, aQueue);
-            return toReturn;
-        }
-    }
-
-    /**
-     * Recursive helper method for the levelorder() method with a running
-     * time of O(n)
-     * @param current the list that accumulates the BST in levelorder manner
-     * @param currentNode the current node that is being checked and added
-     * @param aQueue a queue to keep track of the level order
-     * @return the updated current list (added the data from currentNode)
-     */
-    private List<T> levelorder(List<T> current, AVLNode<T> currentNode,
-                               LinkedList<AVLNode<T>> aQueue) {
-        if (aQueue.peek() != null) {
-            AVLNode<T> x = aQueue.pop();
-            current.add(x.getData());
-            if (x.getLeft() != null) {
-                aQueue.addLast(currentNode.getLeft());
-            }
-            if (x.getRight() != null) {
-                aQueue.addLast(currentNode.getRight());
+            while (!aQueue.isEmpty()) {
+                AVLNode<T> x = aQueue.removeFirst();
+                toReturn.add(x.getData());
+                if (x.getLeft() != null) {
+                    aQueue.addLast(x.getLeft());
+                }
+                if (x.getRight() != null) {
+                    aQueue.addLast(x.getRight());
+                }
             }
-            current = levelorder(current, aQueue.peek(), aQueue);
         }
-        return current;
+        return toReturn;
     }
 
     @Override
@@ -429,50 +806,42 @@ public class AVL<T extends Comparable<? super T>> implements AVLInterface<T> {
 
     @Override
     public int height() {
-        return height(root);
+        return heightOf(root);
     }
 
     /**
-     * A private helper method that finds the height of a node
-     * @param current node to be checked
-     * @return the height of the node
+     * A private helper method that recomputes every height, balance
+     * factor and size in a subtree and checks them against the cached
+     * values, along with the ordering and AVL properties. It is only
+     * run when assertions are enabled (java -ea), as it is O(n).
+     * @throws java.lang.AssertionError if an invariant is broken
+     * @param current the root of the subtree
+     * @param lo every data in the subtree must be greater than this,
+     *           null if there is no lower bound
+     * @param hi every data in the subtree must be less than this,
+     *           null if there is no upper bound
+     * @return the height of the subtree, -1 if it is empty
      */
-    private int height(AVLNode<T> current) {
+    private int verify(AVLNode<T> current, T lo, T hi) {
         if (current == null) {
             return -1;
-        } else {
-            if ((current.getLeft() == null) && (current.getRight() == null)) {
-                return 0;
-            } else {
-                return Math.max(height(update(current.getLeft()))
-                        , height(update(current.getRight()))) + 1;
-            }
         }
-    }
-
-    /**
-     * A private helper method that calculate the balance factor
-     * of a node
-     * @param current the node to be calculated
-     * @return the balance factor
-     */
-    private int calculateBF(AVLNode<T> current) {
-        if (current == null) {
-            return 0;
-        } else {
-            if ((current.getLeft() == null) && (current.getRight() == null)) {
-                return 0;
-            } else if ((current.getLeft() == null)
-                    && (current.getRight() != null)) {
-                return -1 - height(update(current.getRight()));
-            } else if ((current.getLeft() != null)
-                    && (current.getRight() == null)) {
-                return height(update(current.getLeft())) + 1;
-            } else {
-
-                return height(current.getLeft()) - height(current.getRight());
-            }
+        AVLNode<T> left = current.getLeft();
+        AVLNode<T> right = current.getRight();
+        if ((lo != null && current.getData().compareTo(lo) <= 0)
+                || (hi != null && current.getData().compareTo(hi) >= 0)) {
+            throw new AssertionError("Out of order at " + current);
+        }
+        int leftHeight = verify(left, lo, current.getData());
+        int rightHeight = verify(right, current.getData(), hi);
+        if (current.getHeight() != Math.max(leftHeight, rightHeight) + 1
+                || current.getBalanceFactor() != leftHeight - rightHeight
+                || Math.abs(current.getBalanceFactor()) > 1
+                || current.getSize() != sizeOf(left) + sizeOf(right) + 1) {
+            throw new AssertionError("Bad height, balance factor or size at "
+                    + current);
         }
+        return current.getHeight();
     }
 
     @Override
@@ -535,4 +904,50 @@ public class AVL<T extends Comparable<? super T>> implements AVLInterface<T> {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * A lazy in-order iterator over the data in [lo, hi) that keeps the
+     * path to the next node on an explicit stack instead of recursing
+     */
+    private class InorderIterator implements Iterator<T> {
+        private final Deque<AVLNode<T>> stack = new ArrayDeque<AVLNode<T>>();
+        private final T hi;
+
+        /**
+         * Creates an iterator that starts at the smallest data that is
+         * greater than or equal to lo
+         * @param current the root of the tree
+         * @param lo the smallest data to iterate, null if there is none
+         * @param hi the data to stop iterating at, null if there is none
+         */
+        private InorderIterator(AVLNode<T> current, T lo, T hi) {
+            this.hi = hi;
+            while (current != null) {
+                if (lo != null && current.getData().compareTo(lo) < 0) {
+                    current = current.getRight();
+                } else {
+                    stack.push(current);
+                    current = current.getLeft();
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty()
+                    && (hi == null || stack.peek().getData().compareTo(hi) < 0);
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No Such Element!");
+            }
+            AVLNode<T> current = stack.pop();
+            for (AVLNode<T> left = current.getRight(); left != null;
+                 left = left.getLeft()) {
+                stack.push(left);
+            }
+            return current.getData();
+        }
+    }
+}
@@ -4,6 +4,7 @@ public class AVLNode<T extends Comparable<? super T>> {
     private AVLNode<T> right;
     private int height;
     private int balanceFactor;
+    private int size;
 
     /**
      * Create an AVL node with the specified data.
@@ -12,6 +13,7 @@ public class AVLNode<T extends Comparable<? super T>> {
      */
     public AVLNode(T d) {
         data = d;
+        size = 1;
     }
 
     /**
@@ -104,6 +106,24 @@ public class AVLNode<T extends Comparable<? super T>> {
         this.balanceFactor = balanceFactor;
     }
 
+    /**
+     * Get the number of nodes in the subtree rooted at this node.
+     *
+     * @return size of the subtree rooted at this node
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Set the number of nodes in the subtree rooted at this node.
+     *
+     * @param size size of the subtree rooted at this node
+     */
+    public void setSize(int size) {
+        this.size = size;
+    }
+
     @Override
     public String toString() {
         return "Node: " + data + " at " + height;
@@ -1,4 +1,11 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -74,6 +81,298 @@ public class AVLStudentTests {
         assertEquals(0, root.getRight().getBalanceFactor());
     }
 
+    @Test(timeout = 250)
+    public void testSelectRankCount() {
+        avlTree.add(new MagicString("first", 646));
+        avlTree.add(new MagicString("second", 386));
+        avlTree.add(new MagicString("third", 856));
+        avlTree.add(new MagicString("fourth", 526));
+        avlTree.add(new MagicString("fifth", 477));
+        avlTree.add(new MagicString("sixth", 212));
+        avlTree.remove(new MagicString("fourth", 526));
+
+        assertEquals(5, avlTree.getRoot().getSize());
+        assertEquals(new MagicString("sixth", 212), avlTree.select(0));
+        assertEquals(new MagicString("fifth", 477), avlTree.select(2));
+        assertEquals(new MagicString("third", 856), avlTree.select(4));
+
+        assertEquals(0, avlTree.rank(new MagicString("sixth", 212)));
+        assertEquals(3, avlTree.rank(new MagicString("first", 646)));
+        assertEquals(3, avlTree.rank(new MagicString("absent", 600)));
+        assertEquals(5, avlTree.rank(new MagicString("absent", 900)));
+
+        assertEquals(3, avlTree.count(new MagicString("lo", 386),
+                new MagicString("hi", 646)));
+        assertEquals(2, avlTree.count(new MagicString("lo", 400),
+                new MagicString("hi", 700)));
+        assertEquals(0, avlTree.count(new MagicString("lo", 700),
+                new MagicString("hi", 400)));
+    }
+
+    @Test(timeout = 250, expected = IndexOutOfBoundsException.class)
+    public void testSelectOutOfBounds() {
+        avlTree.add(new MagicString("first", 646));
+        avlTree.select(1);
+    }
+
+    @Test(timeout = 1000)
+    public void testManyAddRemove() {
+        for (int i = 0; i < 1024; i++) {
+            avlTree.add(new MagicString("sorted", i));
+        }
+        assertEquals(1024, avlTree.size());
+        assertEquals(10, avlTree.height());
+        for (int i = 0; i < 1024; i += 2) {
+            assertEquals(new MagicString("sorted", i),
+                    avlTree.remove(new MagicString("removed", i)));
+        }
+        assertEquals(512, avlTree.size());
+        assertEquals(512, avlTree.getRoot().getSize());
+        for (int i = 0; i < 512; i++) {
+            assertEquals(new MagicString("sorted", 2 * i + 1),
+                    avlTree.select(i));
+        }
+        assertTrue(avlTree.height() <= 10);
+    }
+
+    @Test(timeout = 250)
+    public void testFromSorted() {
+        List<MagicString> sorted = new ArrayList<MagicString>();
+        for (int i = 0; i < 7; i++) {
+            sorted.add(new MagicString("sorted", i));
+        }
+        sorted.add(new MagicString("duplicate", 6));
+        avlTree = AVL.fromSorted(sorted);
+
+        assertEquals(7, avlTree.size());
+        AVLNode<MagicString> root = avlTree.getRoot();
+        assertEquals(new MagicString("sorted", 3), root.getData());
+        assertEquals(2, root.getHeight());
+        assertEquals(0, root.getBalanceFactor());
+        assertEquals(new MagicString("sorted", 1), root.getLeft().getData());
+        assertEquals(new MagicString("sorted", 5), root.getRight().getData());
+        assertEquals(0, root.getRight().getRight().getHeight());
+    }
+
+    @Test(timeout = 250)
+    public void testSplitJoin() {
+        for (int i = 0; i < 100; i++) {
+            avlTree.add(new MagicString("added", i));
+        }
+        AVL<MagicString> greater = avlTree.split(new MagicString("at", 40));
+
+        assertEquals(40, avlTree.size());
+        assertEquals(60, greater.size());
+        assertEquals(new MagicString("added", 39), avlTree.select(39));
+        assertEquals(new MagicString("added", 40), greater.select(0));
+        assertTrue(Math.abs(avlTree.getRoot().getBalanceFactor()) <= 1);
+        assertTrue(Math.abs(greater.getRoot().getBalanceFactor()) <= 1);
+
+        avlTree.join(greater);
+        assertEquals(100, avlTree.size());
+        assertEquals(0, greater.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(new MagicString("added", i), avlTree.select(i));
+        }
+    }
+
+    @Test(timeout = 250, expected = IllegalArgumentException.class)
+    public void testJoinOverlapping() {
+        avlTree.add(new MagicString("first", 5));
+        AVL<MagicString> other = new AVL<MagicString>();
+        other.add(new MagicString("second", 5));
+        avlTree.join(other);
+    }
+
+    @Test(timeout = 250)
+    public void testIteratorAndRanges() {
+        for (int i = 0; i < 100; i += 2) {
+            avlTree.add(new MagicString("even", i));
+        }
+        int expected = 0;
+        for (MagicString data : avlTree) {
+            assertEquals(new MagicString("even", expected), data);
+            expected += 2;
+        }
+        assertEquals(100, expected);
+        assertEquals(50, avlTree.spliterator().getExactSizeIfKnown());
+
+        List<MagicString> range = new ArrayList<>();
+        avlTree.subSet(new MagicString("lo", 11), new MagicString("hi", 20))
+                .forEach(range::add);
+        assertEquals(4, range.size());
+        assertEquals(new MagicString("first", 12), range.get(0));
+        assertEquals(new MagicString("last", 18), range.get(3));
+        assertEquals(new MagicString("head", 0),
+                avlTree.headSet(new MagicString("hi", 1)).iterator().next());
+        assertEquals(new MagicString("tail", 98),
+                avlTree.tailSet(new MagicString("lo", 97)).iterator().next());
+        assertTrue(!avlTree.tailSet(new MagicString("lo", 99)).iterator()
+                .hasNext());
+
+        assertEquals(new MagicString("floor", 10),
+                avlTree.floor(new MagicString("at", 11)));
+        assertEquals(new MagicString("ceiling", 12),
+                avlTree.ceiling(new MagicString("at", 11)));
+        assertEquals(new MagicString("higher", 12),
+                avlTree.higher(new MagicString("at", 10)));
+        assertEquals(new MagicString("lower", 8),
+                avlTree.lower(new MagicString("at", 10)));
+        assertEquals(null, avlTree.lower(new MagicString("at", 0)));
+        assertEquals(null, avlTree.higher(new MagicString("at", 98)));
+    }
+
+    @Test(timeout = 250)
+    public void testPersistentSnapshots() {
+        PersistentAVL<MagicString> empty = new PersistentAVL<MagicString>();
+        PersistentAVL<MagicString> version = empty;
+        for (int i = 0; i < 100; i++) {
+            version = version.add(new MagicString("added", i));
+        }
+        PersistentAVL<MagicString> snapshot = version;
+        PersistentAVL<MagicString> removed =
+                version.remove(new MagicString("removed", 50));
+        PersistentAVL<MagicString> added =
+                version.add(new MagicString("added", 100));
+
+        assertEquals(0, empty.size());
+        assertEquals(100, snapshot.size());
+        assertTrue(snapshot.contains(new MagicString("kept", 50)));
+        assertEquals(99, removed.size());
+        assertTrue(!removed.contains(new MagicString("gone", 50)));
+        assertEquals(101, added.size());
+        assertTrue(snapshot == snapshot.add(new MagicString("again", 7)));
+        // only the path to the new data is copied
+        assertTrue(snapshot.getRoot().getLeft() == added.getRoot().getLeft());
+        assertTrue(Math.abs(removed.getRoot().getBalanceFactor()) <= 1);
+
+        ConcurrentAVL<Integer> tree = new ConcurrentAVL<Integer>();
+        tree.add(1);
+        PersistentAVL<Integer> before = tree.snapshot();
+        tree.add(2);
+        assertEquals(1, before.size());
+        assertEquals(2, tree.snapshot().size());
+    }
+
+    @Test(timeout = 1000)
+    public void testLongAVL() {
+        LongAVL<String> tree = new LongAVL<String>();
+        for (long i = 0; i < 1000; i++) {
+            tree.add(i * 3);
+        }
+        assertEquals(1000, tree.size());
+        assertTrue(tree.height() <= 14);
+        assertTrue(tree.contains(2997));
+        assertTrue(!tree.contains(1));
+        assertEquals(null, tree.put(3, "three"));
+        assertEquals("three", tree.put(3, "drei"));
+        assertEquals("drei", tree.get(3));
+        assertEquals(null, tree.get(6));
+
+        for (long i = 0; i < 1000; i += 2) {
+            tree.remove(i * 3);
+        }
+        assertEquals(500, tree.size());
+        assertEquals("drei", tree.remove(3));
+        long[] keys = tree.inorder();
+        assertEquals(499, keys.length);
+        assertEquals(9, keys[0]);
+        assertEquals(2997, keys[498]);
+    }
+
+    @Test(timeout = 250)
+    public void testIntAVL() {
+        IntAVL<Integer> tree = new IntAVL<Integer>(0);
+        for (int i = 10; i > 0; i--) {
+            tree.put(-i, i);
+        }
+        assertEquals(10, tree.size());
+        assertEquals(3, tree.height());
+        assertEquals((Integer) 4, tree.get(-4));
+        assertEquals(-10, tree.inorder()[0]);
+        tree.clear();
+        assertEquals(0, tree.size());
+        assertTrue(!tree.contains(-4));
+    }
+
+    @Test(timeout = 250, expected = NoSuchElementException.class)
+    public void testLongAVLRemoveMissing() {
+        new LongAVL<Object>().remove(5);
+    }
+
+    @Test(timeout = 1000)
+    public void testPooledAVL() {
+        PooledAVL<MagicString> pooled = new PooledAVL<MagicString>(4);
+        for (int i = 0; i < 100; i++) {
+            pooled.add(new MagicString("added", i));
+            avlTree.add(new MagicString("added", i));
+        }
+        for (int i = 0; i < 100; i += 3) {
+            assertEquals(avlTree.remove(new MagicString("removed", i)),
+                    pooled.remove(new MagicString("removed", i)));
+        }
+        assertEquals(avlTree.size(), pooled.size());
+        assertEquals(avlTree.height(), pooled.height());
+        assertEquals(avlTree.inorder(), pooled.inorder());
+        assertEquals(1, pooled.depth(pooled.preorder().get(0)));
+
+        pooled.clear();
+        assertEquals(0, pooled.size());
+        assertEquals(-1, pooled.height());
+        assertTrue(!pooled.contains(new MagicString("gone", 1)));
+        pooled.add(new MagicString("again", 1));
+        assertEquals(1, pooled.levelorder().size());
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentReadersSeeLinearizableSnapshots()
+            throws InterruptedException {
+        final int keys = 20000;
+        final ConcurrentAVL<Integer> tree = new ConcurrentAVL<Integer>();
+        final AtomicReference<String> failure = new AtomicReference<>();
+        // 0 while adding 0, 1, 2, ... in order, 1 while removing them in
+        // the same order, 2 when done
+        final AtomicInteger phase = new AtomicInteger();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            readers.add(new Thread(() -> {
+                int lastSize = 0;
+                while (phase.get() == 0) {
+                    int size = tree.size();
+                    if (size < lastSize) {
+                        failure.compareAndSet(null, "size went back");
+                    }
+                    if (size > 0 && !tree.contains(size - 1)) {
+                        failure.compareAndSet(null, "lost " + (size - 1));
+                    }
+                    lastSize = size;
+                }
+                while (phase.get() == 1) {
+                    List<Integer> snapshot = tree.inorder();
+                    for (int i = 0; i < snapshot.size(); i++) {
+                        if (snapshot.get(i) != keys - snapshot.size() + i) {
+                            failure.compareAndSet(null, "not contiguous");
+                        }
+                    }
+                }
+            }));
+        }
+        readers.forEach(Thread::start);
+        for (int i = 0; i < keys; i++) {
+            tree.add(i);
+        }
+        phase.set(1);
+        for (int i = 0; i < keys; i++) {
+            assertEquals((Integer) i, tree.remove(i));
+        }
+        phase.set(2);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertEquals(null, failure.get());
+        assertEquals(0, tree.size());
+    }
+
     private class MagicString implements Comparable<MagicString> {
         private final String magicString;
         private final int number;
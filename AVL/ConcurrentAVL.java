@@ -0,0 +1,110 @@
+import java.util.List;
+
+/**
+ * An AVL tree that many threads can read while one thread writes
+ *
+ * The tree is copy-on-write: it holds a PersistentAVL, whose nodes never
+ * change after they are published. add and remove copy only the O(log n)
+ * nodes on the path they walk (rebalancing included) and then publish the
+ * new version with a single volatile write. Every read loads the current
+ * version once and works on it, so get, contains and the traversals never
+ * lock, never retry and never see a rotation half done. Each read is
+ * linearizable at its load of the version, and each write at its store.
+ *
+ * Writers are serialized on the tree's monitor, so the tree is safe with
+ * several writers too, but they do not run in parallel.
+ *
+ * @version 1.0
+ */
+public class ConcurrentAVL<T extends Comparable<? super T>>
+        implements AVLInterface<T> {
+
+    private volatile PersistentAVL<T> tree;
+
+    /**
+     * A no argument constructor that should initialize an empty AVL
+     */
+    public ConcurrentAVL() {
+        tree = new PersistentAVL<T>();
+    }
+
+    @Override
+    public synchronized void add(T data) {
+        tree = tree.add(data);
+    }
+
+    @Override
+    public synchronized T remove(T data) {
+        AVLNode<T> dummy = new AVLNode<T>(null);
+        tree = tree.remove(data, dummy);
+        return dummy.getData();
+    }
+
+    /**
+     * Gets the current version of the tree with a running time of O(1).
+     * It never changes, however this tree is written to afterwards.
+     * @return a snapshot of the tree
+     */
+    public PersistentAVL<T> snapshot() {
+        return tree;
+    }
+
+    @Override
+    public T get(T data) {
+        return tree.get(data);
+    }
+
+    @Override
+    public boolean contains(T data) {
+        return tree.contains(data);
+    }
+
+    @Override
+    public int size() {
+        return tree.size();
+    }
+
+    @Override
+    public List<T> preorder() {
+        return tree.preorder();
+    }
+
+    @Override
+    public List<T> postorder() {
+        return tree.postorder();
+    }
+
+    @Override
+    public List<T> inorder() {
+        return tree.inorder();
+    }
+
+    @Override
+    public List<T> levelorder() {
+        return tree.levelorder();
+    }
+
+    @Override
+    public synchronized void clear() {
+        tree = new PersistentAVL<T>();
+    }
+
+    @Override
+    public int height() {
+        return tree.height();
+    }
+
+    @Override
+    public int depth(T data) {
+        return tree.depth(data);
+    }
+
+    /**
+     * THIS METHOD IS ONLY FOR TESTING PURPOSES.
+     *
+     * @return the root of the current snapshot of the tree
+     */
+    public AVLNode<T> getRoot() {
+        return tree.getRoot();
+    }
+}
@@ -0,0 +1,445 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An AVL tree keyed by primitive longs, with an optional value per key
+ *
+ * There are no node objects: node i is keys[i], left[i], right[i] and
+ * height[i], with NIL for a missing child, and values[i] if any value was
+ * ever put. That is 17 bytes per key (21 with values) instead of an
+ * AVLNode plus a boxed Long, and comparing keys is a primitive compare
+ * instead of a call to compareTo. The nodes are kept in slots 0 to
+ * size - 1: remove moves the last node into the freed slot.
+ *
+ * add and remove walk down once, remembering the path in an array, and
+ * rebalance back up it only until a subtree keeps its height.
+ *
+ * @param <V> the type of the values
+ * @version 1.0
+ */
+public class LongAVL<V> {
+
+    /**
+     * The index of a missing node
+     */
+    private static final int NIL = -1;
+
+    /**
+     * Taller than any AVL tree with less than 2^31 nodes
+     */
+    private static final int MAX_HEIGHT = 64;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] left;
+    private int[] right;
+    private byte[] height;
+    private Object[] values;
+    private int root;
+    private int size;
+    private final int[] path = new int[MAX_HEIGHT];
+
+    /**
+     * A no argument constructor that should initialize an empty tree
+     */
+    public LongAVL() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes an empty tree with room for capacity keys before it has
+     * to grow
+     *
+     * @param capacity the number of keys to make room for
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public LongAVL(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+        keys = new long[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        height = new byte[capacity];
+        root = NIL;
+    }
+
+    /**
+     * Adds the key, with no value, with a running time of O(log n).
+     * Duplicate keys will be ignored.
+     *
+     * @param key the key to be added
+     */
+    public void add(long key) {
+        insert(key, null, false);
+    }
+
+    /**
+     * Adds the key with the value, or replaces the value of the key if it
+     * is already in the tree, with a running time of O(log n)
+     *
+     * @param key the key to be added
+     * @param value the value of the key
+     * @return the previous value of the key, null if there was none
+     */
+    public V put(long key, V value) {
+        return insert(key, value, true);
+    }
+
+    /**
+     * Private helper method that adds a key below the end of its search
+     * path and rebalances back up the path
+     * @param key the key to be added
+     * @param value the value of the key
+     * @param replace whether to replace the value of an existing key
+     * @return the previous value of the key, null if there was none
+     */
+    private V insert(long key, V value, boolean replace) {
+        int depth = 0;
+        int current = root;
+        while (current != NIL) {
+            if (key == keys[current]) {
+                V previous = valueAt(current);
+                if (replace) {
+                    setValue(current, value);
+                }
+                return previous;
+            }
+            path[depth++] = current;
+            current = (key < keys[current]) ? left[current] : right[current];
+        }
+        int added = allocate(key);
+        setValue(added, value);
+        if (depth == 0) {
+            root = added;
+        } else if (key < keys[path[depth - 1]]) {
+            left[path[depth - 1]] = added;
+        } else {
+            right[path[depth - 1]] = added;
+        }
+        rebalance(depth);
+        return null;
+    }
+
+    /**
+     * Removes the key with a running time of O(log n)
+     *
+     * @param key the key to be removed
+     * @return the value of the key, null if it had none
+     * @throws java.util.NoSuchElementException if the key is not found
+     */
+    public V remove(long key) {
+        int depth = 0;
+        int current = root;
+        while (current != NIL && key != keys[current]) {
+            path[depth++] = current;
+            current = (key < keys[current]) ? left[current] : right[current];
+        }
+        if (current == NIL) {
+            throw new NoSuchElementException("No Such Element!");
+        }
+        V removed = valueAt(current);
+        int freed = current;
+        if (left[current] != NIL && right[current] != NIL) {
+            // move the predecessor up and unlink it instead
+            path[depth++] = current;
+            freed = left[current];
+            while (right[freed] != NIL) {
+                path[depth++] = freed;
+                freed = right[freed];
+            }
+            keys[current] = keys[freed];
+            setValue(current, valueAt(freed));
+        }
+        int child = (left[freed] != NIL) ? left[freed] : right[freed];
+        if (depth == 0) {
+            root = child;
+        } else if (left[path[depth - 1]] == freed) {
+            left[path[depth - 1]] = child;
+        } else {
+            right[path[depth - 1]] = child;
+        }
+        rebalance(depth);
+        release(freed);
+        return removed;
+    }
+
+    /**
+     * Private helper method that updates and rotates the nodes on the path
+     * from the deepest up, stopping at the first subtree whose height did
+     * not change
+     * @param depth the number of nodes on the path
+     */
+    private void rebalance(int depth) {
+        for (int index = depth - 1; index >= 0; index--) {
+            int current = path[index];
+            int oldHeight = height[current];
+            int balanced = balance(current);
+            if (balanced != current) {
+                if (index == 0) {
+                    root = balanced;
+                } else if (left[path[index - 1]] == current) {
+                    left[path[index - 1]] = balanced;
+                } else {
+                    right[path[index - 1]] = balanced;
+                }
+            }
+            if (height[balanced] == oldHeight) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Private helper method that updates a node whose children are up to
+     * date and rotates it if it breaks the AVL properties
+     * @param current the node
+     * @return the root of the balanced subtree
+     */
+    private int balance(int current) {
+        update(current);
+        int balanceFactor = heightOf(left[current]) - heightOf(right[current]);
+        if (balanceFactor > 1) {
+            if (heightOf(left[left[current]])
+                    < heightOf(right[left[current]])) {
+                left[current] = rotateLeft(left[current]);
+            }
+            return rotateRight(current);
+        } else if (balanceFactor < -1) {
+            if (heightOf(right[right[current]])
+                    < heightOf(left[right[current]])) {
+                right[current] = rotateRight(right[current]);
+            }
+            return rotateLeft(current);
+        }
+        return current;
+    }
+
+    /**
+     * Private helper method that rotates a node down to the right
+     * @param current the node
+     * @return its left child, the new root of the subtree
+     */
+    private int rotateRight(int current) {
+        int top = left[current];
+        left[current] = right[top];
+        right[top] = current;
+        update(current);
+        update(top);
+        return top;
+    }
+
+    /**
+     * Private helper method that rotates a node down to the left
+     * @param current the node
+     * @return its right child, the new root of the subtree
+     */
+    private int rotateLeft(int current) {
+        int top = right[current];
+        right[current] = left[top];
+        left[top] = current;
+        update(current);
+        update(top);
+        return top;
+    }
+
+    /**
+     * Private helper method that recomputes the height of a node from its
+     * children
+     * @param current the node
+     */
+    private void update(int current) {
+        height[current] = (byte) (Math.max(heightOf(left[current]),
+                heightOf(right[current])) + 1);
+    }
+
+    /**
+     * Private helper method that gets the height of a node
+     * @param current the node
+     * @return the height of the node, -1 if it is NIL
+     */
+    private int heightOf(int current) {
+        return (current == NIL) ? -1 : height[current];
+    }
+
+    /**
+     * Private helper method that takes the slot after the last node,
+     * growing the arrays if they are full
+     * @param key the key of the new node
+     * @return the slot of the new leaf
+     */
+    private int allocate(long key) {
+        if (size == keys.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY,
+                    size + (size >> 1));
+            keys = Arrays.copyOf(keys, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            height = Arrays.copyOf(height, capacity);
+            if (values != null) {
+                values = Arrays.copyOf(values, capacity);
+            }
+        }
+        int added = size++;
+        keys[added] = key;
+        left[added] = NIL;
+        right[added] = NIL;
+        height[added] = 0;
+        return added;
+    }
+
+    /**
+     * Private helper method that frees the slot of an unlinked node by
+     * moving the last node into it and pointing its parent at the slot
+     * @param freed the slot of the unlinked node
+     */
+    private void release(int freed) {
+        int last = --size;
+        if (freed != last) {
+            keys[freed] = keys[last];
+            left[freed] = left[last];
+            right[freed] = right[last];
+            height[freed] = height[last];
+            setValue(freed, valueAt(last));
+            if (root == last) {
+                root = freed;
+            } else {
+                int parent = root;
+                while (true) {
+                    int next = (keys[last] < keys[parent]) ? left[parent]
+                            : right[parent];
+                    if (next == last) {
+                        break;
+                    }
+                    parent = next;
+                }
+                if (left[parent] == last) {
+                    left[parent] = freed;
+                } else {
+                    right[parent] = freed;
+                }
+            }
+        }
+        if (values != null) {
+            values[last] = null;
+        }
+    }
+
+    /**
+     * Gets the value of the key with a running time of O(log n)
+     *
+     * @param key the key to search for
+     * @return the value of the key, null if it has none
+     * @throws java.util.NoSuchElementException if the key is not found
+     */
+    public V get(long key) {
+        int found = find(key);
+        if (found == NIL) {
+            throw new NoSuchElementException("No Such Element!");
+        }
+        return valueAt(found);
+    }
+
+    /**
+     * Checks if the key is in the tree with a running time of O(log n)
+     *
+     * @param key the key to search for
+     * @return true if the key is in the tree
+     */
+    public boolean contains(long key) {
+        return find(key) != NIL;
+    }
+
+    /**
+     * Private helper method that looks for the node of a key
+     * @param key the key to search for
+     * @return the slot of the node, NIL if there is none
+     */
+    private int find(long key) {
+        int current = root;
+        while (current != NIL && key != keys[current]) {
+            current = (key < keys[current]) ? left[current] : right[current];
+        }
+        return current;
+    }
+
+    /**
+     * Private helper method that gets the value of a node
+     * @param current the node
+     * @return the value, null if values were never used
+     */
+    // only setValue stores into values, and only Vs
+    @SuppressWarnings("unchecked")
+    private V valueAt(int current) {
+        return (values == null) ? null : (V) values[current];
+    }
+
+    /**
+     * Private helper method that sets the value of a node, creating the
+     * values array the first time a value is set
+     * @param current the node
+     * @param value the value
+     */
+    private void setValue(int current, V value) {
+        if (values == null) {
+            if (value == null) {
+                return;
+            }
+            values = new Object[keys.length];
+        }
+        values[current] = value;
+    }
+
+    /**
+     * Gets the number of keys in the tree
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the height of the root with a running time of O(1)
+     *
+     * @return the height of the root, -1 if the tree is empty
+     */
+    public int height() {
+        return heightOf(root);
+    }
+
+    /**
+     * Lists the keys in ascending order with a running time of O(n)
+     *
+     * @return the keys in ascending order
+     */
+    public long[] inorder() {
+        long[] toReturn = new long[size];
+        int count = 0;
+        int depth = 0;
+        int current = root;
+        while (current != NIL || depth > 0) {
+            while (current != NIL) {
+                path[depth++] = current;
+                current = left[current];
+            }
+            current = path[--depth];
+            toReturn[count++] = keys[current];
+            current = right[current];
+        }
+        return toReturn;
+    }
+
+    /**
+     * Removes every key and value in O(n) to drop the values, O(1) if
+     * values were never used. The arrays are kept for reuse.
+     */
+    public void clear() {
+        if (values != null) {
+            Arrays.fill(values, 0, size, null);
+        }
+        root = NIL;
+        size = 0;
+    }
+}
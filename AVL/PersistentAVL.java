@@ -0,0 +1,425 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable AVL tree
+ *
+ * add and remove leave this tree as it is and return a new tree. They copy
+ * only the O(log n) nodes on the path they walk (rebalancing included), and
+ * every other node is shared between the old and the new tree. A snapshot
+ * is just a reference to a tree, so taking one is O(1), and it can be read
+ * for as long as needed while newer versions are created from it.
+ *
+ * Since no node is ever changed after the tree that holds it is created, a
+ * PersistentAVL can be read by any number of threads without locking.
+ *
+ * @version 1.0
+ */
+public final class PersistentAVL<T extends Comparable<? super T>> {
+
+    private final AVLNode<T> root;
+
+    /**
+     * A no argument constructor that should initialize an empty AVL
+     */
+    public PersistentAVL() {
+        root = null;
+    }
+
+    /**
+     * Creates a tree over nodes that are never going to change
+     * @param root the root of the tree
+     */
+    private PersistentAVL(AVLNode<T> root) {
+        this.root = root;
+    }
+
+    /**
+     * Adds the data to a new version of the tree with a running time of
+     * O(log n). This tree is not changed.
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to be added
+     * @return the tree with the data, this tree itself if it already has it
+     */
+    public PersistentAVL<T> add(T data) {
+        checkIAE(data);
+        AVLNode<T> added = add(root, data);
+        return (added == root) ? this : new PersistentAVL<T>(added);
+    }
+
+    /**
+     * Removes the data from a new version of the tree with a running time
+     * of O(log n). This tree is not changed.
+     * @throws IllegalArgumentException if the data is null
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param data the data to be removed
+     * @return the tree without the data
+     */
+    public PersistentAVL<T> remove(T data) {
+        return remove(data, new AVLNode<T>(null));
+    }
+
+    /**
+     * Removes the data from a new version of the tree and keeps the data
+     * that was removed in dummy
+     * @throws IllegalArgumentException if the data is null
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param data the data to be removed
+     * @param dummy a node to keep track of the removed data
+     * @return the tree without the data
+     */
+    PersistentAVL<T> remove(T data, AVLNode<T> dummy) {
+        checkIAE(data);
+        return new PersistentAVL<T>(remove(root, dummy, data));
+    }
+
+    /**
+     * Private helper method that recursively adds a data to a copy of the
+     * path with a running time of O(log n)
+     * @param current the current node to be checked
+     * @param data the data to be added
+     * @return the new root of the subtree, or current itself if the data
+     * was already in it
+     */
+    private AVLNode<T> add(AVLNode<T> current, T data) {
+        if (current == null) {
+            return node(data, null, null);
+        }
+        int compared = current.getData().compareTo(data);
+        if (compared < 0) {
+            AVLNode<T> right = add(current.getRight(), data);
+            return (right == current.getRight()) ? current
+                    : balance(current.getData(), current.getLeft(), right);
+        } else if (compared > 0) {
+            AVLNode<T> left = add(current.getLeft(), data);
+            return (left == current.getLeft()) ? current
+                    : balance(current.getData(), left, current.getRight());
+        } else {
+            return current;
+        }
+    }
+
+    /**
+     * Private helper method that recursively removes a data from a copy
+     * of the path with a running time of O(log n)
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param current the current node to be checked
+     * @param dummy a node to keep track of the removed data
+     * @param data the data to be removed
+     * @return the new root of the subtree
+     */
+    private AVLNode<T> remove(AVLNode<T> current, AVLNode<T> dummy, T data) {
+        if (current == null) {
+            throw new NoSuchElementException("No Such Element!");
+        }
+        int compared = current.getData().compareTo(data);
+        if (compared < 0) {
+            return balance(current.getData(), current.getLeft(),
+                    remove(current.getRight(), dummy, data));
+        } else if (compared > 0) {
+            return balance(current.getData(),
+                    remove(current.getLeft(), dummy, data),
+                    current.getRight());
+        }
+        dummy.setData(current.getData());
+        if (current.getLeft() == null) {
+            return current.getRight();
+        } else if (current.getRight() == null) {
+            return current.getLeft();
+        }
+        AVLNode<T> holder = new AVLNode<T>(null);
+        AVLNode<T> left = removePredecessor(current.getLeft(), holder);
+        return balance(holder.getData(), left, current.getRight());
+    }
+
+    /**
+     * Private helper method that removes the largest data of a subtree
+     * from a copy of its right spine
+     * @param current the root of the subtree
+     * @param holder a node to keep track of the removed data
+     * @return the new root of the subtree
+     */
+    private AVLNode<T> removePredecessor(AVLNode<T> current,
+                                         AVLNode<T> holder) {
+        if (current.getRight() == null) {
+            holder.setData(current.getData());
+            return current.getLeft();
+        }
+        return balance(current.getData(), current.getLeft(),
+                removePredecessor(current.getRight(), holder));
+    }
+
+    /**
+     * Private helper method that creates a new node over two balanced
+     * subtrees whose heights differ by at most two, rotating it with new
+     * nodes if it breaks the AVL properties. No existing node is changed.
+     * @param data the data of the new node
+     * @param left the left subtree
+     * @param right the right subtree
+     * @return the new balanced subtree
+     */
+    private AVLNode<T> balance(T data, AVLNode<T> left, AVLNode<T> right) {
+        int balanceFactor = heightOf(left) - heightOf(right);
+        if (balanceFactor > 1) {
+            if (left.getBalanceFactor() >= 0) {
+                return node(left.getData(), left.getLeft(),
+                        node(data, left.getRight(), right));
+            }
+            AVLNode<T> middle = left.getRight();
+            return node(middle.getData(),
+                    node(left.getData(), left.getLeft(), middle.getLeft()),
+                    node(data, middle.getRight(), right));
+        } else if (balanceFactor < -1) {
+            if (right.getBalanceFactor() <= 0) {
+                return node(right.getData(),
+                        node(data, left, right.getLeft()), right.getRight());
+            }
+            AVLNode<T> middle = right.getLeft();
+            return node(middle.getData(),
+                    node(data, left, middle.getLeft()),
+                    node(right.getData(), middle.getRight(),
+                            right.getRight()));
+        }
+        return node(data, left, right);
+    }
+
+    /**
+     * Private helper method that creates a new node and caches its
+     * height, balance factor and size
+     * @param data the data of the node
+     * @param left the left child
+     * @param right the right child
+     * @return the new node
+     */
+    private AVLNode<T> node(T data, AVLNode<T> left, AVLNode<T> right) {
+        AVLNode<T> current = new AVLNode<T>(data);
+        current.setLeft(left);
+        current.setRight(right);
+        current.setHeight(Math.max(heightOf(left), heightOf(right)) + 1);
+        current.setBalanceFactor(heightOf(left) - heightOf(right));
+        current.setSize(sizeOf(left) + sizeOf(right) + 1);
+        return current;
+    }
+
+    /**
+     * A private helper method that gets the cached height of a node
+     * @param current the node
+     * @return the height of the node, -1 if it is null
+     */
+    private int heightOf(AVLNode<T> current) {
+        return (current == null) ? -1 : current.getHeight();
+    }
+
+    /**
+     * A private helper method that gets the size of a subtree
+     * @param current the root of the subtree
+     * @return the number of nodes in the subtree, 0 if it is empty
+     */
+    private int sizeOf(AVLNode<T> current) {
+        return (current == null) ? 0 : current.getSize();
+    }
+
+    /**
+     * Gets the data in the tree that equals the given data with a running
+     * time of O(log n)
+     * @throws IllegalArgumentException if the data is null
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param data the data to search for
+     * @return the data in the tree
+     */
+    public T get(T data) {
+        checkIAE(data);
+        AVLNode<T> found = find(root, data);
+        if (found == null) {
+            throw new NoSuchElementException("No Such Element!");
+        }
+        return found.getData();
+    }
+
+    /**
+     * Checks if the tree has the data with a running time of O(log n)
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to search for
+     * @return true if the tree has the data
+     */
+    public boolean contains(T data) {
+        checkIAE(data);
+        return find(root, data) != null;
+    }
+
+    /**
+     * Private helper method that looks for a data in a subtree
+     * @param current the root of the subtree
+     * @param data the data to look for
+     * @return the node with the data, null if there is none
+     */
+    private AVLNode<T> find(AVLNode<T> current, T data) {
+        while (current != null) {
+            int compared = current.getData().compareTo(data);
+            if (compared == 0) {
+                return current;
+            }
+            current = (compared < 0) ? current.getRight() : current.getLeft();
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of data in the tree with a running time of O(1)
+     * @return the number of data in the tree
+     */
+    public int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Lists the data in the tree in preorder
+     * @return the data in preorder
+     */
+    public List<T> preorder() {
+        List<T> toReturn = new ArrayList<T>();
+        return preorder(toReturn, root);
+    }
+
+    /**
+     * Recursive helper method for the preorder() method with a running time of
+     * O(n)
+     * @param current the list that accumulates the AVL in preorder manner
+     * @param currentNode the current node that is being checked and added
+     * @return the updated current list (added the data from currentNode)
+     */
+    private List<T> preorder(List<T> current, AVLNode<T> currentNode) {
+        if (currentNode != null) {
+            current.add(currentNode.getData());
+            preorder(current, currentNode.getLeft());
+            preorder(current, currentNode.getRight());
+        }
+        return current;
+    }
+
+    /**
+     * Lists the data in the tree in postorder
+     * @return the data in postorder
+     */
+    public List<T> postorder() {
+        List<T> toReturn = new ArrayList<T>();
+        return postorder(toReturn, root);
+    }
+
+    /**
+     * Recursive helper method for the postorder() method with a running
+     * time of O(n)
+     * @param current the list that accumulates the AVL in postorder manner
+     * @param currentNode the current node that is being checked and added
+     * @return the updated current list (added the data from currentNode)
+     */
+    private List<T> postorder(List<T> current, AVLNode<T> currentNode) {
+        if (currentNode != null) {
+            postorder(current, currentNode.getLeft());
+            postorder(current, currentNode.getRight());
+            current.add(currentNode.getData());
+        }
+        return current;
+    }
+
+    /**
+     * Lists the data in the tree in ascending order
+     * @return the data in inorder
+     */
+    public List<T> inorder() {
+        List<T> toReturn = new ArrayList<T>();
+        return inorder(toReturn, root);
+    }
+
+    /**
+     * Recursive helper method for the inorder() method with a running time of
+     * O(n)
+     * @param current the list that accumulates the AVL in inorder manner
+     * @param currentNode the current node that is being checked and added
+     * @return the updated current list (added the data from currentNode)
+     */
+    private List<T> inorder(List<T> current, AVLNode<T> currentNode) {
+        if (currentNode != null) {
+            inorder(current, currentNode.getLeft());
+            current.add(currentNode.getData());
+            inorder(current, currentNode.getRight());
+        }
+        return current;
+    }
+
+    /**
+     * Lists the data in the tree level by level
+     * @return the data in levelorder
+     */
+    public List<T> levelorder() {
+        List<T> toReturn = new ArrayList<T>(sizeOf(root));
+        if (root != null) {
+            Deque<AVLNode<T>> aQueue = new ArrayDeque<AVLNode<T>>();
+            aQueue.addLast(root);
+            while (!aQueue.isEmpty()) {
+                AVLNode<T> x = aQueue.removeFirst();
+                toReturn.add(x.getData());
+                if (x.getLeft() != null) {
+                    aQueue.addLast(x.getLeft());
+                }
+                if (x.getRight() != null) {
+                    aQueue.addLast(x.getRight());
+                }
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Gets the height of the tree with a running time of O(1)
+     * @return the height of the root, -1 if the tree is empty
+     */
+    public int height() {
+        return heightOf(root);
+    }
+
+    /**
+     * Finds the depth of the data, where the root has a depth of 1
+     * @throws IllegalArgumentException if the data is null
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param data the data to search for
+     * @return the depth of the data
+     */
+    public int depth(T data) {
+        checkIAE(data);
+        AVLNode<T> current = root;
+        int depth = 1;
+        while (current != null) {
+            int compared = current.getData().compareTo(data);
+            if (compared == 0) {
+                return depth;
+            }
+            current = (compared < 0) ? current.getRight() : current.getLeft();
+            depth++;
+        }
+        throw new NoSuchElementException("No Such Element!");
+    }
+
+    /**
+     * THIS METHOD IS ONLY FOR TESTING PURPOSES.
+     *
+     * @return the root of the tree
+     */
+    public AVLNode<T> getRoot() {
+        return root;
+    }
+
+    /**
+     * A private helper method that checks if the data is null
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @param data the data to be checked
+     */
+    private void checkIAE(Object data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+    }
+}
@@ -0,0 +1,478 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An AVL tree whose nodes live in a pool of parallel arrays
+ *
+ * Node i is data[i], left[i], right[i] and height[i], with NIL for a
+ * missing child. A removed node's slot goes on a free list (threaded
+ * through left[]) and the next add reuses it, so once the pool is as big
+ * as the tree ever gets, add and remove allocate nothing at all. clear()
+ * is O(1): it just forgets the tree and the free list, and the slots are
+ * handed out again from the start. The data in the forgotten slots stays
+ * referenced until the slots are reused or releaseCleared() is called.
+ *
+ * add and remove walk down once, remembering the path in an array, and
+ * rebalance back up it only until a subtree keeps its height.
+ *
+ * @version 1.0
+ */
+public class PooledAVL<T extends Comparable<? super T>>
+        implements AVLInterface<T> {
+
+    /**
+     * The index of a missing node, and the end of the free list
+     */
+    private static final int NIL = -1;
+
+    /**
+     * Taller than any AVL tree with less than 2^31 nodes
+     */
+    private static final int MAX_HEIGHT = 64;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] data;
+    private int[] left;
+    private int[] right;
+    private int[] height;
+    private int root;
+    private int size;
+    private int used;
+    private int free;
+    private final int[] path = new int[MAX_HEIGHT];
+
+    /**
+     * A no argument constructor that should initialize an empty AVL
+     */
+    public PooledAVL() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes an empty AVL with a pool of capacity nodes, so it does
+     * not allocate until it holds more than that
+     *
+     * @param capacity the number of nodes in the pool
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public PooledAVL(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+        data = new Object[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        height = new int[capacity];
+        clear();
+    }
+
+    /**
+     * Initializes the AVL with the data in the collection. The data
+     * should be added in the same order it is in the collection.
+     *
+     * @param data the data to add to the tree
+     * @throws IllegalArgumentException if data or any element in data is null
+     */
+    public PooledAVL(Collection<T> data) {
+        this(DEFAULT_CAPACITY);
+        checkIAE(data);
+        data.forEach(this::add);
+    }
+
+    @Override
+    public void add(T data) {
+        checkIAE(data);
+        int depth = 0;
+        int current = root;
+        int compared = 0;
+        while (current != NIL
+                && (compared = data.compareTo(dataAt(current))) != 0) {
+            path[depth++] = current;
+            current = (compared < 0) ? left[current] : right[current];
+        }
+        if (current != NIL) {
+            return;
+        }
+        int added = allocate(data);
+        if (depth == 0) {
+            root = added;
+        } else if (compared < 0) {
+            left[path[depth - 1]] = added;
+        } else {
+            right[path[depth - 1]] = added;
+        }
+        size++;
+        rebalance(depth);
+    }
+
+    @Override
+    public T remove(T data) {
+        checkIAE(data);
+        int depth = 0;
+        int current = root;
+        int compared;
+        while (current != NIL
+                && (compared = data.compareTo(dataAt(current))) != 0) {
+            path[depth++] = current;
+            current = (compared < 0) ? left[current] : right[current];
+        }
+        if (current == NIL) {
+            throw new NoSuchElementException("No Such Element!");
+        }
+        T removed = dataAt(current);
+        int freed = current;
+        if (left[current] != NIL && right[current] != NIL) {
+            // move the predecessor up and unlink it instead
+            path[depth++] = current;
+            freed = left[current];
+            while (right[freed] != NIL) {
+                path[depth++] = freed;
+                freed = right[freed];
+            }
+            this.data[current] = this.data[freed];
+        }
+        int child = (left[freed] != NIL) ? left[freed] : right[freed];
+        if (depth == 0) {
+            root = child;
+        } else if (left[path[depth - 1]] == freed) {
+            left[path[depth - 1]] = child;
+        } else {
+            right[path[depth - 1]] = child;
+        }
+        size--;
+        rebalance(depth);
+        this.data[freed] = null;
+        left[freed] = free;
+        free = freed;
+        return removed;
+    }
+
+    /**
+     * Private helper method that updates and rotates the nodes on the path
+     * from the deepest up, stopping at the first subtree whose height did
+     * not change
+     * @param depth the number of nodes on the path
+     */
+    private void rebalance(int depth) {
+        for (int index = depth - 1; index >= 0; index--) {
+            int current = path[index];
+            int oldHeight = height[current];
+            int balanced = balance(current);
+            if (balanced != current) {
+                if (index == 0) {
+                    root = balanced;
+                } else if (left[path[index - 1]] == current) {
+                    left[path[index - 1]] = balanced;
+                } else {
+                    right[path[index - 1]] = balanced;
+                }
+            }
+            if (height[balanced] == oldHeight) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Private helper method that updates a node whose children are up to
+     * date and rotates it if it breaks the AVL properties
+     * @param current the node
+     * @return the root of the balanced subtree
+     */
+    private int balance(int current) {
+        update(current);
+        int balanceFactor = heightOf(left[current]) - heightOf(right[current]);
+        if (balanceFactor > 1) {
+            if (heightOf(left[left[current]])
+                    < heightOf(right[left[current]])) {
+                left[current] = rotateLeft(left[current]);
+            }
+            return rotateRight(current);
+        } else if (balanceFactor < -1) {
+            if (heightOf(right[right[current]])
+                    < heightOf(left[right[current]])) {
+                right[current] = rotateRight(right[current]);
+            }
+            return rotateLeft(current);
+        }
+        return current;
+    }
+
+    /**
+     * Private helper method that rotates a node down to the right
+     * @param current the node
+     * @return its left child, the new root of the subtree
+     */
+    private int rotateRight(int current) {
+        int top = left[current];
+        left[current] = right[top];
+        right[top] = current;
+        update(current);
+        update(top);
+        return top;
+    }
+
+    /**
+     * Private helper method that rotates a node down to the left
+     * @param current the node
+     * @return its right child, the new root of the subtree
+     */
+    private int rotateLeft(int current) {
+        int top = right[current];
+        right[current] = left[top];
+        left[top] = current;
+        update(current);
+        update(top);
+        return top;
+    }
+
+    /**
+     * Private helper method that recomputes the height of a node from its
+     * children
+     * @param current the node
+     */
+    private void update(int current) {
+        height[current] = Math.max(heightOf(left[current]),
+                heightOf(right[current])) + 1;
+    }
+
+    /**
+     * Private helper method that gets the height of a node
+     * @param current the node
+     * @return the height of the node, -1 if it is NIL
+     */
+    private int heightOf(int current) {
+        return (current == NIL) ? -1 : height[current];
+    }
+
+    /**
+     * Private helper method that takes a slot off the free list, or the
+     * next never used slot, growing the pool if it is full
+     * @param data the data of the new node
+     * @return the slot of the new leaf
+     */
+    private int allocate(T data) {
+        int added;
+        if (free != NIL) {
+            added = free;
+            free = left[added];
+        } else {
+            if (used == this.data.length) {
+                grow(Math.max(DEFAULT_CAPACITY, used + (used >> 1)));
+            }
+            added = used++;
+        }
+        this.data[added] = data;
+        left[added] = NIL;
+        right[added] = NIL;
+        height[added] = 0;
+        return added;
+    }
+
+    /**
+     * Private helper method that resizes the pool
+     * @param capacity the new number of slots
+     */
+    private void grow(int capacity) {
+        data = Arrays.copyOf(data, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        height = Arrays.copyOf(height, capacity);
+    }
+
+    /**
+     * Private helper method that gets the data of a node
+     * @param current the node
+     * @return the data
+     */
+    // the pool only ever holds Ts
+    @SuppressWarnings("unchecked")
+    private T dataAt(int current) {
+        return (T) data[current];
+    }
+
+    @Override
+    public T get(T data) {
+        checkIAE(data);
+        int found = find(data);
+        if (found == NIL) {
+            throw new NoSuchElementException("No Such Element!");
+        }
+        return dataAt(found);
+    }
+
+    @Override
+    public boolean contains(T data) {
+        checkIAE(data);
+        return find(data) != NIL;
+    }
+
+    /**
+     * Private helper method that looks for the node of a data
+     * @param data the data to search for
+     * @return the slot of the node, NIL if there is none
+     */
+    private int find(T data) {
+        int current = root;
+        while (current != NIL) {
+            int compared = data.compareTo(dataAt(current));
+            if (compared == 0) {
+                return current;
+            }
+            current = (compared < 0) ? left[current] : right[current];
+        }
+        return NIL;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<T> preorder() {
+        //preorder: data, left, right
+        List<T> toReturn = new ArrayList<T>(size);
+        return preorder(toReturn, root);
+    }
+
+    /**
+     * Recursive helper method for the preorder() method with a running time of
+     * O(n)
+     * @param current the list that accumulates the AVL in preorder manner
+     * @param currentNode the current node that is being checked and added
+     * @return the updated current list (added the data from currentNode)
+     */
+    private List<T> preorder(List<T> current, int currentNode) {
+        if (currentNode != NIL) {
+            current.add(dataAt(currentNode));
+            preorder(current, left[currentNode]);
+            preorder(current, right[currentNode]);
+        }
+        return current;
+    }
+
+    @Override
+    public List<T> postorder() {
+        //postorder: left, right, data
+        List<T> toReturn = new ArrayList<T>(size);
+        return postorder(toReturn, root);
+    }
+
+    /**
+     * Recursive helper method for the postorder() method with a running
+     * time of O(n)
+     * @param current the list that accumulates the AVL in postorder manner
+     * @param currentNode the current node that is being checked and added
+     * @return the updated current list (added the data from currentNode)
+     */
+    private List<T> postorder(List<T> current, int currentNode) {
+        if (currentNode != NIL) {
+            postorder(current, left[currentNode]);
+            postorder(current, right[currentNode]);
+            current.add(dataAt(currentNode));
+        }
+        return current;
+    }
+
+    @Override
+    public List<T> inorder() {
+        //inorder: left, data, right
+        List<T> toReturn = new ArrayList<T>(size);
+        return inorder(toReturn, root);
+    }
+
+    /**
+     * Recursive helper method for the inorder() method with a running time of
+     * O(n)
+     * @param current the list that accumulates the AVL in inorder manner
+     * @param currentNode the current node that is being checked and added
+     * @return the updated current list (added the data from currentNode)
+     */
+    private List<T> inorder(List<T> current, int currentNode) {
+        if (currentNode != NIL) {
+            inorder(current, left[currentNode]);
+            current.add(dataAt(currentNode));
+            inorder(current, right[currentNode]);
+        }
+        return current;
+    }
+
+    @Override
+    public List<T> levelorder() {
+        List<T> toReturn = new ArrayList<T>(size);
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        if (root != NIL) {
+            queue[tail++] = root;
+        }
+        while (head < tail) {
+            int current = queue[head++];
+            toReturn.add(dataAt(current));
+            if (left[current] != NIL) {
+                queue[tail++] = left[current];
+            }
+            if (right[current] != NIL) {
+                queue[tail++] = right[current];
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Empties the tree in O(1). The pool is kept and its slots are handed
+     * out again by the next adds.
+     */
+    @Override
+    public void clear() {
+        root = NIL;
+        size = 0;
+        used = 0;
+        free = NIL;
+    }
+
+    /**
+     * Drops the references the pool still holds to data that was cleared,
+     * with a running time of O(capacity)
+     */
+    public void releaseCleared() {
+        Arrays.fill(data, used, data.length, null);
+    }
+
+    @Override
+    public int height() {
+        return heightOf(root);
+    }
+
+    @Override
+    public int depth(T data) {
+        checkIAE(data);
+        int depth = 1;
+        int current = root;
+        while (current != NIL) {
+            int compared = data.compareTo(dataAt(current));
+            if (compared == 0) {
+                return depth;
+            }
+            current = (compared < 0) ? left[current] : right[current];
+            depth++;
+        }
+        throw new NoSuchElementException("No Such Element!");
+    }
+
+    /**
+     * A private helper method that checks if the data is null
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @param data the data to be checked
+     */
+    private void checkIAE(Object data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+    }
+}
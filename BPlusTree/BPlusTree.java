@@ -0,0 +1,860 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * An in-memory B+-tree
+ *
+ * Every node keeps its keys in one contiguous array that is binary
+ * searched, so a lookup touches one node (a few cache lines) per level
+ * and there are only log base fanout of n levels, instead of one
+ * scattered node per level of a binary tree. The data is only stored in
+ * the leaves; inner nodes hold copies of keys to route the search. The
+ * leaves are linked left to right, so range scans and iteration walk
+ * whole arrays without going back up the tree.
+ *
+ * It has the same operations as AVL and BST. preorder, postorder and
+ * levelorder list the keys node by node, so they include the routing
+ * copies in the inner nodes; inorder lists every data once.
+ *
+ * @version 1.0
+ */
+public class BPlusTree<T extends Comparable<? super T>>
+        implements BSTInterface<T>, AVLInterface<T>, Iterable<T> {
+
+    /**
+     * Children per inner node, unless another fanout is given
+     */
+    public static final int DEFAULT_FANOUT = 64;
+
+    /**
+     * The smallest fanout that keeps every node at least half full
+     */
+    private static final int MIN_FANOUT = 4;
+
+    private final int maxKeys;
+    private Node root;
+    private Leaf first;
+    private int size;
+
+    /**
+     * The key pushed up to the parent by the last split
+     */
+    private Object splitKey;
+
+    /**
+     * A no argument constructor that should initialize an empty tree with
+     * the default fanout
+     */
+    public BPlusTree() {
+        this(DEFAULT_FANOUT);
+    }
+
+    /**
+     * Initializes an empty tree whose inner nodes have up to fanout
+     * children and whose leaves hold up to fanout - 1 data
+     *
+     * @param fanout the most children an inner node can have
+     * @throws IllegalArgumentException if fanout is less than 4
+     */
+    public BPlusTree(int fanout) {
+        if (fanout < MIN_FANOUT) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+        maxKeys = fanout - 1;
+        clear();
+    }
+
+    /**
+     * Initializes the tree with the data in the collection. The data
+     * should be added in the same order it is in the collection.
+     *
+     * @param data the data to add to the tree
+     * @throws IllegalArgumentException if data or any element in data is null
+     */
+    public BPlusTree(Collection<T> data) {
+        this();
+        checkIAE(data);
+        data.forEach(this::add);
+    }
+
+    /**
+     * Creates a tree with the data in the collection. If the collection
+     * iterates in ascending order (duplicates are skipped), the leaves are
+     * filled left to right and the inner levels are built on top of them
+     * in O(n). Otherwise the data is added one at a time in O(n log n).
+     *
+     * @param data the data to add to the tree
+     * @param fanout the most children an inner node can have
+     * @param <T> the type of the data
+     * @throws IllegalArgumentException if data or any element in data is
+     * null, or if fanout is less than 4
+     * @return the new tree
+     */
+    public static <T extends Comparable<? super T>> BPlusTree<T> fromSorted(
+            Collection<T> data, int fanout) {
+        BPlusTree<T> tree = new BPlusTree<T>(fanout);
+        tree.checkIAE(data);
+        Object[] sorted = new Object[data.size()];
+        int count = 0;
+        T last = null;
+        for (T current : data) {
+            tree.checkIAE(current);
+            if (last != null) {
+                int compared = last.compareTo(current);
+                if (compared > 0) {
+                    data.forEach(tree::add);
+                    return tree;
+                } else if (compared == 0) {
+                    continue;
+                }
+            }
+            sorted[count++] = current;
+            last = current;
+        }
+        if (count > 0) {
+            tree.build(sorted, count);
+        }
+        return tree;
+    }
+
+    /**
+     * Private helper method that builds the tree bottom-up out of sorted
+     * data with a running time of O(n). Every level is spread evenly over
+     * as few nodes as possible, so every node is at least half full.
+     * @param sorted the data in ascending order
+     * @param count the number of data in sorted
+     */
+    private void build(Object[] sorted, int count) {
+        int nodes = (count + maxKeys - 1) / maxKeys;
+        List<Node> level = new ArrayList<Node>(nodes);
+        List<Object> lows = new ArrayList<Object>(nodes);
+        Leaf previous = null;
+        for (int index = 0; index < nodes; index++) {
+            int from = (int) ((long) count * index / nodes);
+            int to = (int) ((long) count * (index + 1) / nodes);
+            Leaf leaf = new Leaf(maxKeys);
+            System.arraycopy(sorted, from, leaf.keys, 0, to - from);
+            leaf.count = to - from;
+            if (previous == null) {
+                first = leaf;
+            } else {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level.add(leaf);
+            lows.add(sorted[from]);
+        }
+        int fanout = maxKeys + 1;
+        while (level.size() > 1) {
+            nodes = (level.size() + fanout - 1) / fanout;
+            List<Node> parents = new ArrayList<Node>(nodes);
+            List<Object> parentLows = new ArrayList<Object>(nodes);
+            for (int index = 0; index < nodes; index++) {
+                int from = (int) ((long) level.size() * index / nodes);
+                int to = (int) ((long) level.size() * (index + 1) / nodes);
+                Inner inner = new Inner(maxKeys);
+                for (int child = from; child < to; child++) {
+                    inner.children[child - from] = level.get(child);
+                    if (child > from) {
+                        inner.keys[child - from - 1] = lows.get(child);
+                    }
+                }
+                inner.count = to - from - 1;
+                parents.add(inner);
+                parentLows.add(lows.get(from));
+            }
+            level = parents;
+            lows = parentLows;
+        }
+        root = level.get(0);
+        size = count;
+    }
+
+    @Override
+    public void add(T data) {
+        checkIAE(data);
+        Node right = add(root, data);
+        if (right != null) {
+            Inner newRoot = new Inner(maxKeys);
+            newRoot.keys[0] = splitKey;
+            newRoot.children[0] = root;
+            newRoot.children[1] = right;
+            newRoot.count = 1;
+            root = newRoot;
+        }
+    }
+
+    /**
+     * Private helper method that recursively adds a data with a running
+     * time of O(log n), splitting the nodes that overflow on the way back
+     * up. Duplicate data will be ignored.
+     * @param current the node to add the data under
+     * @param data the data to be added
+     * @return the new right half of current if it was split, otherwise
+     * null
+     */
+    private Node add(Node current, T data) {
+        if (current instanceof Leaf) {
+            int index = lowerBound(current, data);
+            if (index < current.count
+                    && key(current, index).compareTo(data) == 0) {
+                return null;
+            }
+            insertKey(current, index, data);
+            size++;
+            return (current.count > maxKeys) ? splitLeaf((Leaf) current)
+                    : null;
+        }
+        Inner inner = (Inner) current;
+        int index = upperBound(inner, data);
+        Node right = add(inner.children[index], data);
+        if (right == null) {
+            return null;
+        }
+        System.arraycopy(inner.children, index + 1, inner.children,
+                index + 2, inner.count - index);
+        inner.children[index + 1] = right;
+        insertKey(inner, index, splitKey);
+        return (inner.count > maxKeys) ? splitInner(inner) : null;
+    }
+
+    /**
+     * Private helper method that moves the upper half of an overflowing
+     * leaf into a new leaf linked right after it
+     * @param leaf the leaf with one data too many
+     * @return the new leaf
+     */
+    private Node splitLeaf(Leaf leaf) {
+        int mid = leaf.count / 2;
+        Leaf right = new Leaf(maxKeys);
+        right.count = leaf.count - mid;
+        System.arraycopy(leaf.keys, mid, right.keys, 0, right.count);
+        clearKeys(leaf, mid);
+        right.next = leaf.next;
+        leaf.next = right;
+        splitKey = right.keys[0];
+        return right;
+    }
+
+    /**
+     * Private helper method that moves the upper half of an overflowing
+     * inner node into a new inner node, pushing the middle key up
+     * @param inner the inner node with one key too many
+     * @return the new inner node
+     */
+    private Node splitInner(Inner inner) {
+        int mid = inner.count / 2;
+        Inner right = new Inner(maxKeys);
+        right.count = inner.count - mid - 1;
+        System.arraycopy(inner.keys, mid + 1, right.keys, 0, right.count);
+        System.arraycopy(inner.children, mid + 1, right.children, 0,
+                right.count + 1);
+        splitKey = inner.keys[mid];
+        for (int index = mid + 1; index <= inner.count; index++) {
+            inner.children[index] = null;
+        }
+        clearKeys(inner, mid);
+        return right;
+    }
+
+    @Override
+    public T remove(T data) {
+        checkIAE(data);
+        T removed = remove(root, data);
+        size--;
+        if (root instanceof Inner && root.count == 0) {
+            root = ((Inner) root).children[0];
+        }
+        return removed;
+    }
+
+    /**
+     * Private helper method that recursively removes a data with a
+     * running time of O(log n), refilling the nodes that underflow on
+     * the way back up
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param current the node to remove the data from
+     * @param data the data to be removed
+     * @return the data removed
+     */
+    private T remove(Node current, T data) {
+        if (current instanceof Leaf) {
+            int index = lowerBound(current, data);
+            if (index == current.count
+                    || key(current, index).compareTo(data) != 0) {
+                throw new NoSuchElementException("No Such Element!");
+            }
+            T removed = key(current, index);
+            removeKey(current, index);
+            return removed;
+        }
+        Inner inner = (Inner) current;
+        int index = upperBound(inner, data);
+        T removed = remove(inner.children[index], data);
+        if (inner.children[index].count < minKeys(inner.children[index])) {
+            refill(inner, index);
+        }
+        return removed;
+    }
+
+    /**
+     * Private helper method that refills a child that fell below half
+     * full, by borrowing from a sibling that has data to spare or else by
+     * merging with a sibling
+     * @param parent the parent of the child
+     * @param index the index of the child in its parent
+     */
+    private void refill(Inner parent, int index) {
+        Node left = (index > 0) ? parent.children[index - 1] : null;
+        Node right = (index < parent.count) ? parent.children[index + 1]
+                : null;
+        if (left != null && left.count > minKeys(left)) {
+            borrowFromLeft(parent, index);
+        } else if (right != null && right.count > minKeys(right)) {
+            borrowFromRight(parent, index);
+        } else if (left != null) {
+            merge(parent, index - 1);
+        } else {
+            merge(parent, index);
+        }
+    }
+
+    /**
+     * Private helper method that moves the last key of the left sibling
+     * into the child
+     * @param parent the parent of the child
+     * @param index the index of the child in its parent
+     */
+    private void borrowFromLeft(Inner parent, int index) {
+        Node child = parent.children[index];
+        Node left = parent.children[index - 1];
+        if (child instanceof Leaf) {
+            insertKey(child, 0, left.keys[left.count - 1]);
+            removeKey(left, left.count - 1);
+            parent.keys[index - 1] = child.keys[0];
+        } else {
+            Inner innerChild = (Inner) child;
+            Inner innerLeft = (Inner) left;
+            System.arraycopy(innerChild.children, 0, innerChild.children, 1,
+                    innerChild.count + 1);
+            innerChild.children[0] = innerLeft.children[innerLeft.count];
+            innerLeft.children[innerLeft.count] = null;
+            insertKey(innerChild, 0, parent.keys[index - 1]);
+            parent.keys[index - 1] = innerLeft.keys[innerLeft.count - 1];
+            removeKey(innerLeft, innerLeft.count - 1);
+        }
+    }
+
+    /**
+     * Private helper method that moves the first key of the right sibling
+     * into the child
+     * @param parent the parent of the child
+     * @param index the index of the child in its parent
+     */
+    private void borrowFromRight(Inner parent, int index) {
+        Node child = parent.children[index];
+        Node right = parent.children[index + 1];
+        if (child instanceof Leaf) {
+            insertKey(child, child.count, right.keys[0]);
+            removeKey(right, 0);
+            parent.keys[index] = right.keys[0];
+        } else {
+            Inner innerChild = (Inner) child;
+            Inner innerRight = (Inner) right;
+            innerChild.children[innerChild.count + 1] =
+                    innerRight.children[0];
+            insertKey(innerChild, innerChild.count, parent.keys[index]);
+            parent.keys[index] = innerRight.keys[0];
+            System.arraycopy(innerRight.children, 1, innerRight.children, 0,
+                    innerRight.count);
+            innerRight.children[innerRight.count] = null;
+            removeKey(innerRight, 0);
+        }
+    }
+
+    /**
+     * Private helper method that merges a child with its right sibling and
+     * removes the key between them from the parent
+     * @param parent the parent of the two children
+     * @param index the index of the left child in its parent
+     */
+    private void merge(Inner parent, int index) {
+        Node left = parent.children[index];
+        Node right = parent.children[index + 1];
+        if (left instanceof Leaf) {
+            System.arraycopy(right.keys, 0, left.keys, left.count,
+                    right.count);
+            left.count += right.count;
+            ((Leaf) left).next = ((Leaf) right).next;
+        } else {
+            left.keys[left.count] = parent.keys[index];
+            System.arraycopy(right.keys, 0, left.keys, left.count + 1,
+                    right.count);
+            System.arraycopy(((Inner) right).children, 0,
+                    ((Inner) left).children, left.count + 1,
+                    right.count + 1);
+            left.count += right.count + 1;
+        }
+        System.arraycopy(parent.children, index + 2, parent.children,
+                index + 1, parent.count - index - 1);
+        parent.children[parent.count] = null;
+        removeKey(parent, index);
+    }
+
+    /**
+     * Private helper method that gets the fewest keys a node other than
+     * the root can have
+     * @param current the node
+     * @return half of the most data a leaf can hold, or enough keys for
+     * half of the most children an inner node can have
+     */
+    private int minKeys(Node current) {
+        return (current instanceof Leaf) ? maxKeys / 2 : (maxKeys - 1) / 2;
+    }
+
+    @Override
+    public T get(T data) {
+        checkIAE(data);
+        Leaf leaf = findLeaf(data);
+        int index = lowerBound(leaf, data);
+        if (index == leaf.count || key(leaf, index).compareTo(data) != 0) {
+            throw new NoSuchElementException("No Such Element!");
+        }
+        return key(leaf, index);
+    }
+
+    @Override
+    public boolean contains(T data) {
+        checkIAE(data);
+        Leaf leaf = findLeaf(data);
+        int index = lowerBound(leaf, data);
+        return index < leaf.count && key(leaf, index).compareTo(data) == 0;
+    }
+
+    /**
+     * Private helper method that finds the leaf that has, or would have,
+     * the data with a running time of O(log n)
+     * @param data the data to search for
+     * @return the leaf
+     */
+    private Leaf findLeaf(T data) {
+        Node current = root;
+        while (current instanceof Inner) {
+            current = ((Inner) current).children[upperBound(current, data)];
+        }
+        return (Leaf) current;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Iterates over the data in ascending order by walking the linked
+     * leaves. The tree should not be modified while it is being iterated.
+     *
+     * @return an iterator over the data in ascending order
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new LeafIterator(first, 0, null);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size,
+                Spliterator.ORDERED | Spliterator.SORTED
+                        | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * Gets a lazy view of the data from lo (inclusive) to hi (exclusive)
+     * in ascending order. Getting the first k data takes O(log n + k).
+     * @throws IllegalArgumentException if lo or hi is null, or if lo is
+     * greater than hi
+     * @param lo the smallest data of the view
+     * @param hi the data right after the largest data of the view
+     * @return the data in [lo, hi)
+     */
+    public Iterable<T> subSet(T lo, T hi) {
+        checkIAE(lo);
+        checkIAE(hi);
+        if (lo.compareTo(hi) > 0) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+        return () -> seek(lo, hi);
+    }
+
+    /**
+     * Gets a lazy view of the data less than hi in ascending order.
+     * @throws IllegalArgumentException if hi is null
+     * @param hi the data right after the largest data of the view
+     * @return the data less than hi
+     */
+    public Iterable<T> headSet(T hi) {
+        checkIAE(hi);
+        return () -> new LeafIterator(first, 0, hi);
+    }
+
+    /**
+     * Gets a lazy view of the data greater than or equal to lo in
+     * ascending order.
+     * @throws IllegalArgumentException if lo is null
+     * @param lo the smallest data of the view
+     * @return the data greater than or equal to lo
+     */
+    public Iterable<T> tailSet(T lo) {
+        checkIAE(lo);
+        return () -> seek(lo, null);
+    }
+
+    /**
+     * Private helper method that starts iterating at the smallest data
+     * greater than or equal to lo
+     * @param lo the smallest data to iterate
+     * @param hi the data to stop iterating at, null if there is none
+     * @return the iterator
+     */
+    private Iterator<T> seek(T lo, T hi) {
+        Leaf leaf = findLeaf(lo);
+        return new LeafIterator(leaf, lowerBound(leaf, lo), hi);
+    }
+
+    @Override
+    public List<T> preorder() {
+        return preorder(new ArrayList<T>(), root);
+    }
+
+    /**
+     * Recursive helper method for the preorder() method with a running time of
+     * O(n)
+     * @param current the list that accumulates the keys in preorder manner
+     * @param currentNode the current node that is being checked and added
+     * @return the updated current list (added the keys of currentNode)
+     */
+    private List<T> preorder(List<T> current, Node currentNode) {
+        addKeys(current, currentNode);
+        if (currentNode instanceof Inner) {
+            for (int index = 0; index <= currentNode.count; index++) {
+                preorder(current, ((Inner) currentNode).children[index]);
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public List<T> postorder() {
+        return postorder(new ArrayList<T>(), root);
+    }
+
+    /**
+     * Recursive helper method for the postorder() method with a running
+     * time of O(n)
+     * @param current the list that accumulates the keys in postorder manner
+     * @param currentNode the current node that is being checked and added
+     * @return the updated current list (added the keys of currentNode)
+     */
+    private List<T> postorder(List<T> current, Node currentNode) {
+        if (currentNode instanceof Inner) {
+            for (int index = 0; index <= currentNode.count; index++) {
+                postorder(current, ((Inner) currentNode).children[index]);
+            }
+        }
+        addKeys(current, currentNode);
+        return current;
+    }
+
+    @Override
+    public List<T> inorder() {
+        List<T> toReturn = new ArrayList<T>(size);
+        for (T data : this) {
+            toReturn.add(data);
+        }
+        return toReturn;
+    }
+
+    @Override
+    public List<T> levelorder() {
+        List<T> toReturn = new ArrayList<T>();
+        List<Node> level = new ArrayList<Node>();
+        level.add(root);
+        while (!level.isEmpty()) {
+            List<Node> next = new ArrayList<Node>();
+            for (Node current : level) {
+                addKeys(toReturn, current);
+                if (current instanceof Inner) {
+                    for (int index = 0; index <= current.count; index++) {
+                        next.add(((Inner) current).children[index]);
+                    }
+                }
+            }
+            level = next;
+        }
+        return toReturn;
+    }
+
+    /**
+     * Private helper method that adds the keys of a node to a list
+     * @param list the list to add to
+     * @param current the node
+     */
+    private void addKeys(List<T> list, Node current) {
+        for (int index = 0; index < current.count; index++) {
+            list.add(key(current, index));
+        }
+    }
+
+    @Override
+    public void clear() {
+        first = new Leaf(maxKeys);
+        root = first;
+        size = 0;
+    }
+
+    /**
+     * Gets the height of the tree, which is the number of levels above the
+     * leaves, with a running time of O(log n)
+     * @return the height of the tree, -1 if it is empty
+     */
+    @Override
+    public int height() {
+        if (size == 0) {
+            return -1;
+        }
+        int height = 0;
+        for (Node current = root; current instanceof Inner;
+             current = ((Inner) current).children[0]) {
+            height++;
+        }
+        return height;
+    }
+
+    /**
+     * Gets the depth of the leaf that holds the data, where the root has
+     * a depth of 1. Every leaf is at the same depth.
+     * @throws IllegalArgumentException if the data is null
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param data the data to search for
+     * @return the depth of the data
+     */
+    @Override
+    public int depth(T data) {
+        get(data);
+        return height() + 1;
+    }
+
+    /**
+     * Private helper method that finds the first key of a node that is
+     * greater than or equal to the data with a binary search
+     * @param current the node
+     * @param data the data to search for
+     * @return the index of the key, count if there is none
+     */
+    private int lowerBound(Node current, T data) {
+        int lo = 0;
+        int hi = current.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (key(current, mid).compareTo(data) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Private helper method that finds the first key of a node that is
+     * greater than the data with a binary search, which is the index of
+     * the child to search next
+     * @param current the node
+     * @param data the data to search for
+     * @return the index of the key, count if there is none
+     */
+    private int upperBound(Node current, T data) {
+        int lo = 0;
+        int hi = current.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (key(current, mid).compareTo(data) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Private helper method that gets a key of a node
+     * @param current the node
+     * @param index the index of the key
+     * @return the key
+     */
+    // the keys of every node are Ts
+    @SuppressWarnings("unchecked")
+    private T key(Node current, int index) {
+        return (T) current.keys[index];
+    }
+
+    /**
+     * Private helper method that inserts a key into a node, shifting the
+     * keys after it to the right
+     * @param current the node
+     * @param index where the key goes
+     * @param key the key
+     */
+    private void insertKey(Node current, int index, Object key) {
+        System.arraycopy(current.keys, index, current.keys, index + 1,
+                current.count - index);
+        current.keys[index] = key;
+        current.count++;
+    }
+
+    /**
+     * Private helper method that removes a key from a node, shifting the
+     * keys after it to the left
+     * @param current the node
+     * @param index the index of the key
+     */
+    private void removeKey(Node current, int index) {
+        System.arraycopy(current.keys, index + 1, current.keys, index,
+                current.count - index - 1);
+        current.keys[--current.count] = null;
+    }
+
+    /**
+     * Private helper method that drops the keys of a node from an index on
+     * @param current the node
+     * @param count the number of keys to keep
+     */
+    private void clearKeys(Node current, int count) {
+        for (int index = count; index < current.count; index++) {
+            current.keys[index] = null;
+        }
+        current.count = count;
+    }
+
+    /**
+     * THIS METHOD IS ONLY FOR TESTING PURPOSES.
+     *
+     * @return the keys of the root
+     */
+    public List<T> getRootKeys() {
+        List<T> toReturn = new ArrayList<T>();
+        addKeys(toReturn, root);
+        return toReturn;
+    }
+
+    /**
+     * A private helper method that checks if the data is null
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @param data the data to be checked
+     */
+    private void checkIAE(Object data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+    }
+
+    /**
+     * A node with its keys in one array, with room for one key more than
+     * the most it can keep so it can overflow before it is split
+     */
+    private abstract static class Node {
+        final Object[] keys;
+        int count;
+
+        /**
+         * @param maxKeys the most keys the node can keep
+         */
+        private Node(int maxKeys) {
+            keys = new Object[maxKeys + 1];
+        }
+    }
+
+    /**
+     * A node that holds the data, linked to the leaf after it
+     */
+    private static final class Leaf extends Node {
+        Leaf next;
+
+        /**
+         * @param maxKeys the most data the leaf can keep
+         */
+        private Leaf(int maxKeys) {
+            super(maxKeys);
+        }
+    }
+
+    /**
+     * A node that routes the search: every data under children[i] is
+     * greater than or equal to keys[i - 1] and less than keys[i]
+     */
+    private static final class Inner extends Node {
+        final Node[] children;
+
+        /**
+         * @param maxKeys the most keys the node can keep
+         */
+        private Inner(int maxKeys) {
+            super(maxKeys);
+            children = new Node[maxKeys + 2];
+        }
+    }
+
+    /**
+     * An iterator that walks the linked leaves from a position until a
+     * bound
+     */
+    private class LeafIterator implements Iterator<T> {
+        private Leaf leaf;
+        private int index;
+        private final T hi;
+
+        /**
+         * @param leaf the leaf to start at
+         * @param index the index to start at in the leaf
+         * @param hi the data to stop iterating at, null if there is none
+         */
+        private LeafIterator(Leaf leaf, int index, T hi) {
+            this.leaf = leaf;
+            this.index = index;
+            this.hi = hi;
+            skipEmpty();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leaf != null
+                    && (hi == null || key(leaf, index).compareTo(hi) < 0);
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No Such Element!");
+            }
+            T data = key(leaf, index++);
+            skipEmpty();
+            return data;
+        }
+
+        /**
+         * Moves on to the next leaf if the current one has no more data
+         */
+        private void skipEmpty() {
+            while (leaf != null && index == leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class BPlusTreeStudentTest {
+    private BPlusTree<Integer> tree;
+
+    @Before
+    public void setup() {
+        tree = new BPlusTree<Integer>(4);
+    }
+
+    @Test(timeout = 250)
+    public void testAddSplitsLeaves() {
+        tree.add(2);
+        tree.add(1);
+        tree.add(3);
+        assertEquals(0, tree.height());
+
+        tree.add(4);
+        assertEquals(4, tree.size());
+        assertEquals(1, tree.height());
+        List<Integer> rootKeys = new ArrayList<>();
+        rootKeys.add(3);
+        assertEquals(rootKeys, tree.getRootKeys());
+        assertEquals(2, tree.depth(4));
+
+        tree.add(4);
+        assertEquals(4, tree.size());
+    }
+
+    @Test(timeout = 250)
+    public void testRemoveMergesBack() {
+        for (int i = 0; i < 50; i++) {
+            tree.add(i);
+        }
+        for (int i = 0; i < 50; i += 2) {
+            assertEquals((Integer) i, tree.remove(i));
+        }
+        assertEquals(25, tree.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i % 2 == 1, tree.contains(i));
+        }
+        for (int i = 1; i < 50; i += 2) {
+            tree.remove(i);
+        }
+        assertEquals(0, tree.size());
+        assertEquals(-1, tree.height());
+        assertTrue(!tree.iterator().hasNext());
+    }
+
+    @Test(timeout = 1000)
+    public void testMatchesTreeSet() {
+        Random rand = new Random(36);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 20000; i++) {
+            int data = rand.nextInt(1000);
+            if (rand.nextBoolean()) {
+                tree.add(data);
+                expected.add(data);
+            } else if (expected.remove(data)) {
+                assertEquals((Integer) data, tree.remove(data));
+            }
+        }
+        assertEquals(new ArrayList<>(expected), tree.inorder());
+
+        List<Integer> range = new ArrayList<>();
+        tree.subSet(250, 750).forEach(range::add);
+        assertEquals(new ArrayList<>(expected.subSet(250, 750)), range);
+    }
+
+    @Test(timeout = 250)
+    public void testFromSorted() {
+        List<Integer> sorted = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            sorted.add(i);
+            sorted.add(i);
+        }
+        tree = BPlusTree.fromSorted(sorted, 8);
+        assertEquals(1000, tree.size());
+        assertEquals(3, tree.height());
+        assertEquals((Integer) 999, tree.get(999));
+        assertEquals((Integer) 10, tree.tailSet(10).iterator().next());
+        assertEquals((Integer) 0, tree.headSet(10).iterator().next());
+
+        tree.add(1000);
+        tree.remove(0);
+        assertEquals((Integer) 1, tree.iterator().next());
+        assertEquals(1000, tree.size());
+    }
+
+    @Test(timeout = 250, expected = NoSuchElementException.class)
+    public void testRemoveMissing() {
+        tree.add(1);
+        tree.remove(2);
+    }
+
+    @Test(timeout = 250, expected = IllegalArgumentException.class)
+    public void testFanoutTooSmall() {
+        tree = new BPlusTree<Integer>(3);
+    }
+}
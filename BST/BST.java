@@ -1,19 +1,49 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
-import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
  * The Class of Binary Search Tree
  *
+ * Every operation is a loop over the tree instead of a recursion, so a
+ * BST that is fed sorted data and degenerates into a linked list still
+ * works at any depth (just in O(n) per operation).
+ *
+ * A BST created with an alpha between 0.5 and 1 also rebalances itself
+ * like a scapegoat tree: when an add puts a node deeper than
+ * log base 1/alpha of n, the deepest ancestor on its path (the first one
+ * found walking up from the new node) whose child holds more than alpha
+ * of its subtree is rebuilt perfectly balanced, and when removes shrink
+ * the tree below alpha of its largest size, the whole tree is rebuilt.
+ * Adds and removes are then amortized O(log n) whatever the order of the
+ * data.
+ *
+ * Every node caches the height and size of its subtree. They are
+ * recomputed only along the path that add/remove walks, so height() is
+ * O(1) and the per-node diagnostics are one search.
+ *
  * @author Lovissa Winyoto (lwinyoto3)
  * @param <T> generic type of the data in the binary search tree
  */
-public class BST<T extends Comparable<? super T>> implements BSTInterface<T> {
+public class BST<T extends Comparable<? super T>> implements BSTInterface<T>,
+        Iterable<T> {
+
+    /**
+     * The alpha of a BST that never rebalances
+     */
+    private static final double UNBALANCED = 1.0;
 
     private BSTNode<T> root;
     private int size;
+    private final double alpha;
+    private int maxSize;
 
     /**
      * A no argument constructor that should initialize an empty BST
@@ -21,6 +51,25 @@ public class BST<T extends Comparable<? super T>> implements BSTInterface<T> {
     public BST() {
         root = null;
         size = 0;
+        alpha = UNBALANCED;
+    }
+
+    /**
+     * Initializes an empty BST that rebalances itself as a scapegoat tree.
+     * A lower alpha keeps the tree closer to perfectly balanced at the
+     * cost of rebuilding more often.
+     *
+     * @param alpha how unbalanced a subtree can get, between 0.5 and 1
+     * @throws IllegalArgumentException if alpha is not greater than 0.5
+     * and less than 1
+     */
+    public BST(double alpha) {
+        if (!(alpha > 0.5 && alpha < UNBALANCED)) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+        root = null;
+        size = 0;
+        this.alpha = alpha;
     }
 
     /**
@@ -31,6 +80,7 @@ public class BST<T extends Comparable<? super T>> implements BSTInterface<T> {
      * @throws IllegalArgumentException if data or any element in data is null
      */
     public BST(Collection<T> data) {
+        this();
         if (data == null) {
             throw new IllegalArgumentException("Illegal Argument!");
         } else {
@@ -38,154 +88,247 @@ public class BST<T extends Comparable<? super T>> implements BSTInterface<T> {
         }
     }
 
+    /**
+     * Adds the data as a leaf with a running time of O(log n) or worst case
+     * of O(n), amortized O(log n) if the BST rebalances itself.
+     * Duplicate data will be ignored
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to be added in the BST
+     */
     @Override
     public void add(T data) {
         if (data == null) {
             throw new IllegalArgumentException("Illegal Argument!");
         } else if (root == null) {
-            size++;
             root = new BSTNode<T>(data);
+            size++;
+            maxSize = Math.max(maxSize, size);
+            return;
+        }
+        Deque<BSTNode<T>> path = new ArrayDeque<BSTNode<T>>();
+        BSTNode<T> current = root;
+        while (true) {
+            int compared = current.getData().compareTo(data);
+            if (compared == 0) {
+                return;
+            }
+            path.push(current);
+            BSTNode<T> next = (compared < 0) ? current.getRight()
+                    : current.getLeft();
+            if (next == null) {
+                break;
+            }
+            current = next;
+        }
+        BSTNode<T> added = new BSTNode<T>(data);
+        if (current.getData().compareTo(data) < 0) {
+            current.setRight(added);
         } else {
-            add(root, data);
+            current.setLeft(added);
+        }
+        size++;
+        maxSize = Math.max(maxSize, size);
+        path.forEach(this::update);
+        if (alpha < UNBALANCED && path.size() > maxDepth()) {
+            rebuildScapegoat(path, added);
         }
     }
 
     /**
-     * Recursive helper method for the add(T data) method with a running time
-     * of O(log n) or worst case of O(n)
-     * Duplicate data will be ignored
-     * @param current a non-null BSTNode
-     * @param data the data to be added in the BST
+     * Private helper method that recomputes the cached height and size of
+     * a node from its children with a running time of O(1)
+     * @param current the node, whose children are up to date
      */
-    private void add(BSTNode<T> current, T data) {
-        if (current.getData().compareTo(data) < 0) {
-            if (current.getRight() == null) {
-                current.setRight(new BSTNode<T>(data));
-                size++;
-            } else {
-                add(current.getRight(), data);
-            }
-        } else if (current.getData().compareTo(data) > 0) {
-            if (current.getLeft() == null) {
-                current.setLeft(new BSTNode<T>(data));
-                size++;
-            } else {
-                add(current.getLeft(), data);
-            }
-        }
+    private void update(BSTNode<T> current) {
+        current.setHeight(Math.max(heightOf(current.getLeft()),
+                heightOf(current.getRight())) + 1);
+        current.setSize(sizeOf(current.getLeft())
+                + sizeOf(current.getRight()) + 1);
     }
 
-    @Override
-    public T remove(T data) {
-        if (data == null) {
-            throw new IllegalArgumentException("Illegal Argument!");
-        } else if (root == null) {
-            throw new NoSuchElementException("No Such Element!");
-        } else {
-            BSTNode<T> dummy = new BSTNode<T>(root.getData());
-            root = remove(root, dummy, data);
-            size--;
-            return dummy.getData();
+    /**
+     * Private helper method that gets the cached height of a subtree
+     * @param current the root of the subtree
+     * @return the height of the subtree, -1 if it is empty
+     */
+    private int heightOf(BSTNode<T> current) {
+        return (current == null) ? -1 : current.getHeight();
+    }
+
+    /**
+     * Private helper method that gets the cached size of a subtree
+     * @param current the root of the subtree
+     * @return the number of nodes in the subtree, 0 if it is empty
+     */
+    private int sizeOf(BSTNode<T> current) {
+        return (current == null) ? 0 : current.getSize();
+    }
+
+    /**
+     * Private helper method that gets the deepest a node can be in a
+     * scapegoat tree with this alpha and size, which is log base 1/alpha
+     * of the size
+     * @return the maximum depth of a node, counting edges from the root
+     */
+    private int maxDepth() {
+        return (int) Math.floor(Math.log(size) / Math.log(1 / alpha));
+    }
+
+    /**
+     * Private helper method that walks up from a node that was added too
+     * deep, finds the first ancestor that is not alpha weight balanced and
+     * rebuilds its subtree perfectly balanced
+     * @param path the ancestors of the added node, its parent on top
+     * @param added the added node
+     */
+    private void rebuildScapegoat(Deque<BSTNode<T>> path, BSTNode<T> added) {
+        BSTNode<T> child = added;
+        while (!path.isEmpty()) {
+            BSTNode<T> parent = path.pop();
+            if (child.getSize() > alpha * parent.getSize()) {
+                BSTNode<T> rebuilt = rebuild(parent, parent.getSize());
+                BSTNode<T> grandparent = path.peek();
+                if (grandparent == null) {
+                    root = rebuilt;
+                } else if (grandparent.getLeft() == parent) {
+                    grandparent.setLeft(rebuilt);
+                } else {
+                    grandparent.setRight(rebuilt);
+                }
+                path.forEach(this::update);
+                return;
+            }
+            child = parent;
         }
     }
 
     /**
-     * Recursive helper method for the remove(T data) method with a running time
-     * of O(log n) or worst case of O(n)
-     * @param current the current BSTNode
-     * @param dummy a node to keep track of the removed node
-     * @param data the data to be removed
-     * @return the data removed
+     * Private helper method that relinks the nodes of a subtree into a
+     * perfectly balanced subtree with a running time of O(n)
+     * @param current the root of the subtree
+     * @param count the number of nodes in the subtree
+     * @return the root of the rebuilt subtree
      */
-    private BSTNode<T> remove(BSTNode<T> current, BSTNode<T> dummy, T data) {
-        if (current == null) {
-            throw new NoSuchElementException("No Such Element!");
-        } else if (current.getData().compareTo(data) > 0) {
-            current.setLeft(remove(current.getLeft(), dummy, data));
-            return current;
-        } else if (current.getData().compareTo(data) < 0) {
-            current.setRight(remove(current.getRight(), dummy, data));
-            return current;
-        } else {
-            dummy.setData(current.getData());
-            if (current.getLeft() == null && current.getRight() == null) {
-                return null;
-            } else if (current.getLeft() == null
-                    && current.getRight() != null) {
-                return current.getRight();
-            } else if (current.getLeft() != null
-                    && current.getRight() == null) {
-                return current.getLeft();
-            } else {
-                T successor = successor(current);
-                T dataRemove = current.getData();
-                current.setData(successor);
-                return current;
+    private BSTNode<T> rebuild(BSTNode<T> current, int count) {
+        List<BSTNode<T>> nodes = new ArrayList<BSTNode<T>>(count);
+        Deque<BSTNode<T>> stack = new ArrayDeque<BSTNode<T>>();
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.getLeft();
             }
+            current = stack.pop();
+            nodes.add(current);
+            current = current.getRight();
         }
+        return build(nodes, 0, nodes.size() - 1);
     }
 
     /**
-     * Recursive helper method for the remove method to find the successor
-     * of the data to be removed if it had two children
-     * @param toRemove node that is searching for its successor
-     * @return the data of the successor
+     * Private helper method that links sorted nodes into a perfectly
+     * balanced subtree. It only recurses O(log n) deep.
+     * @param nodes the nodes in ascending order
+     * @param lo index of the smallest node of the subtree
+     * @param hi index of the largest node of the subtree
+     * @return the root of the subtree, null if lo is greater than hi
      */
-    private T successor(BSTNode<T> toRemove) {
-        BSTNode<T> nodeS = toRemove.getRight();
-        BSTNode<T> beforeS = toRemove;
-        while (nodeS.getLeft() != null) {
-            beforeS = nodeS;
-            nodeS = nodeS.getLeft();
-        }
-        T data = nodeS.getData();
-        BSTNode<T> dummy2 = new BSTNode<T>(nodeS.getData());
-        if (beforeS == root) {
-            beforeS.setRight(nodeS.getRight());
-        } else {
-            beforeS.setLeft(remove(nodeS, dummy2, data));
+    private BSTNode<T> build(List<BSTNode<T>> nodes, int lo, int hi) {
+        if (lo > hi) {
+            return null;
         }
-        return data;
+        int mid = (lo + hi) >>> 1;
+        BSTNode<T> current = nodes.get(mid);
+        current.setLeft(build(nodes, lo, mid - 1));
+        current.setRight(build(nodes, mid + 1, hi));
+        update(current);
+        return current;
     }
 
+    /**
+     * Removes the data with a running time of O(log n) or worst case of
+     * O(n), amortized O(log n) if the BST rebalances itself. A node with
+     * two children is replaced by its successor.
+     * @throws IllegalArgumentException if the data is null
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param data the data to be removed
+     * @return the data removed
+     */
     @Override
-    public T get(T data) {
+    public T remove(T data) {
         if (data == null) {
             throw new IllegalArgumentException("Illegal Argument!");
+        }
+        Deque<BSTNode<T>> path = new ArrayDeque<BSTNode<T>>();
+        BSTNode<T> parent = null;
+        BSTNode<T> current = root;
+        int compared;
+        while (current != null
+                && (compared = current.getData().compareTo(data)) != 0) {
+            parent = current;
+            path.push(parent);
+            current = (compared < 0) ? current.getRight() : current.getLeft();
+        }
+        if (current == null) {
+            throw new NoSuchElementException("No Such Element!");
+        }
+        T removed = current.getData();
+        if (current.getLeft() != null && current.getRight() != null) {
+            path.push(current);
+            BSTNode<T> successorParent = current;
+            BSTNode<T> successor = current.getRight();
+            while (successor.getLeft() != null) {
+                successorParent = successor;
+                path.push(successorParent);
+                successor = successor.getLeft();
+            }
+            current.setData(successor.getData());
+            if (successorParent == current) {
+                successorParent.setRight(successor.getRight());
+            } else {
+                successorParent.setLeft(successor.getRight());
+            }
         } else {
-            if (root == null) {
-                throw new NoSuchElementException("No Such Element!");
+            BSTNode<T> child = (current.getLeft() != null)
+                    ? current.getLeft() : current.getRight();
+            if (parent == null) {
+                root = child;
+            } else if (parent.getLeft() == current) {
+                parent.setLeft(child);
             } else {
-                return get(root, data).getData();
+                parent.setRight(child);
             }
         }
+        size--;
+        path.forEach(this::update);
+        if (alpha < UNBALANCED && size < alpha * maxSize) {
+            root = rebuild(root, size);
+            maxSize = size;
+        }
+        return removed;
+    }
+
+    @Override
+    public T get(T data) {
+        return findOrThrow(data).getData();
     }
 
     /**
-     * Recursive helper method for the get(T data) method with a running time
-     * of O(log n) or worst case of O(n)
-     * @param current the current BSTNode to be checked
-     * @param data Data to search and to return for in the tree
+     * Private helper method that looks for the node with the data with a
+     * running time of O(log n) or worst case of O(n)
+     * @throws IllegalArgumentException if the data is null
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param data the data to search for
      * @return the node containing the data
      */
-    private BSTNode<T> get(BSTNode<T> current, T data) {
-        if (current.getData().compareTo(data) == 0) {
-            return current;
-        } else {
-            if (current.getData().compareTo(data) < 0) {
-                if (current.getRight() == null) {
-                    throw new NoSuchElementException("No Such Element!");
-                } else {
-                    return get(current.getRight(), data);
-                }
-            } else {
-                if (current.getLeft() == null) {
-                    throw new NoSuchElementException("No Such Element!");
-                } else {
-                    return get(current.getLeft(), data);
-                }
-            }
+    private BSTNode<T> findOrThrow(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+        BSTNode<T> found = find(data);
+        if (found == null) {
+            throw new NoSuchElementException("No Such Element!");
         }
+        return found;
     }
 
     @Override
@@ -193,28 +336,25 @@ public class BST<T extends Comparable<? super T>> implements BSTInterface<T> {
         if (data == null) {
             throw new IllegalArgumentException("Illegal Argument Exception!");
         }
-        return ((root == null) ? false : contains(root, data));
+        return find(data) != null;
     }
 
     /**
-     * Recursive helper method for the contains(T data) method with a
+     * Private helper method that looks for the node with the data with a
      * running time of O(log n) or worst case of O(n)
-     * @param current a non-null BSTNode
-     * @param data the data that is compared to check whether it is in
-     *             the BST
-     * @return whether the left or right child of current BSTNode
-     *     contains the data
+     * @param data the data to search for
+     * @return the node containing the data, null if there is none
      */
-    private boolean contains(BSTNode<T> current, T data) {
-        if (current == null) {
-            return false;
-        } else if (current.getData().compareTo(data) == 0) {
-            return true;
-        } else {
-            return (((current.getData().compareTo(data) < 0))
-                    ? contains(current.getRight(), data)
-                    : contains(current.getLeft(), data));
+    private BSTNode<T> find(T data) {
+        BSTNode<T> current = root;
+        while (current != null) {
+            int compared = current.getData().compareTo(data);
+            if (compared == 0) {
+                return current;
+            }
+            current = (compared < 0) ? current.getRight() : current.getLeft();
         }
+        return null;
     }
 
     @Override
@@ -222,181 +362,292 @@ public class BST<T extends Comparable<? super T>> implements BSTInterface<T> {
         return size;
     }
 
+    /**
+     * Iterates over the data in ascending order. The iterator is lazy: it
+     * only keeps the path to the next node, so it uses O(h) memory and
+     * getting the first k data visits O(h + k) nodes, where h is the
+     * height of the tree. The tree
+     * should not be modified while it is being iterated.
+     *
+     * @return an iterator over the data in ascending order
+     */
     @Override
-    public List<T> preorder() {
-        //preorder: data, left, right
-        List<T> toReturn = new ArrayList<T>();
-        return preorder(toReturn, root);
+    public Iterator<T> iterator() {
+        return new InorderIterator(root, null, null);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size,
+                Spliterator.ORDERED | Spliterator.SORTED
+                        | Spliterator.DISTINCT | Spliterator.NONNULL);
     }
 
     /**
-     * Recursive helper method for the preorder() method with a running time of
-     * O(n)
-     * @param current the list that accumulates the BST in preorder manner
-     * @param currentNode the current node that is being checked and added
-     * @return the updated current list (added the data from currentNode)
+     * Gets a lazy view of the data from lo (inclusive) to hi (exclusive)
+     * in ascending order. Getting the first k data visits O(h + k) nodes.
+     * @throws IllegalArgumentException if lo or hi is null, or if lo is
+     * greater than hi
+     * @param lo the smallest data of the view
+     * @param hi the data right after the largest data of the view
+     * @return the data in [lo, hi)
      */
-    private List<T> preorder(List<T> current, BSTNode<T> currentNode) {
-        if (currentNode != null) {
-            current.add(currentNode.getData());
-            preorder(current, currentNode.getLeft());
-            preorder(current, currentNode.getRight());
+    public Iterable<T> subSet(T lo, T hi) {
+        checkIAE(lo);
+        checkIAE(hi);
+        if (lo.compareTo(hi) > 0) {
+            throw new IllegalArgumentException("Illegal Argument!");
         }
-        return current;
+        return () -> new InorderIterator(root, lo, hi);
     }
 
-    @Override
-    public List<T> postorder() {
-        //postorder: left, right, data
-        List<T> toReturn = new ArrayList<T>();
-        return postorder(toReturn, root);
+    /**
+     * Gets a lazy view of the data less than hi in ascending order.
+     * @throws IllegalArgumentException if hi is null
+     * @param hi the data right after the largest data of the view
+     * @return the data less than hi
+     */
+    public Iterable<T> headSet(T hi) {
+        checkIAE(hi);
+        return () -> new InorderIterator(root, null, hi);
     }
 
     /**
-     * Recursive helper method for the postorder() method with a running
-     * time of O(n)
-     * @param current the list that accumulates the BST in postorder manner
-     * @param currentNode the current node that is being checked and added
-     * @return the updated current list (added the data from currentNode)
+     * Gets a lazy view of the data greater than or equal to lo in
+     * ascending order.
+     * @throws IllegalArgumentException if lo is null
+     * @param lo the smallest data of the view
+     * @return the data greater than or equal to lo
      */
-    private List<T> postorder(List<T> current, BSTNode<T> currentNode) {
-        if (currentNode != null) {
-            postorder(current, currentNode.getLeft());
-            postorder(current, currentNode.getRight());
-            current.add(currentNode.getData());
+    public Iterable<T> tailSet(T lo) {
+        checkIAE(lo);
+        return () -> new InorderIterator(root, lo, null);
+    }
+
+    /**
+     * Finds the largest data less than or equal to the given data with a
+     * running time of O(log n) or worst case of O(n)
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to be compared
+     * @return the largest data less than or equal to data, null if none
+     */
+    public T floor(T data) {
+        checkIAE(data);
+        T found = null;
+        BSTNode<T> current = root;
+        while (current != null) {
+            int compared = current.getData().compareTo(data);
+            if (compared == 0) {
+                return current.getData();
+            } else if (compared < 0) {
+                found = current.getData();
+                current = current.getRight();
+            } else {
+                current = current.getLeft();
+            }
         }
-        return current;
+        return found;
     }
 
-    @Override
-    public List<T> inorder() {
-        //inorder: left, data, right
-        List<T> toReturn = new ArrayList<T>();
-        return inorder(toReturn, root);
+    /**
+     * Finds the smallest data greater than or equal to the given data
+     * with a running time of O(log n) or worst case of O(n)
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to be compared
+     * @return the smallest data greater than or equal to data, null if
+     * none
+     */
+    public T ceiling(T data) {
+        checkIAE(data);
+        T found = null;
+        BSTNode<T> current = root;
+        while (current != null) {
+            int compared = current.getData().compareTo(data);
+            if (compared == 0) {
+                return current.getData();
+            } else if (compared > 0) {
+                found = current.getData();
+                current = current.getLeft();
+            } else {
+                current = current.getRight();
+            }
+        }
+        return found;
     }
 
     /**
-     *  Recursive helper method for the inorder() method with a running time of
-     * O(n)
-     * @param current the list that accumulates the BST in inorder manner
-     * @param currentNode the current node that is being checked and added
-     * @return the updated current list (added the data from currentNode)
+     * Finds the smallest data strictly greater than the given data with a
+     * running time of O(log n) or worst case of O(n)
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to be compared
+     * @return the smallest data greater than data, null if none
      */
-    private List<T> inorder(List<T> current, BSTNode<T> currentNode) {
-        if (currentNode != null) {
-            inorder(current, currentNode.getLeft());
-            current.add(currentNode.getData());
-            inorder(current, currentNode.getRight());
+    public T higher(T data) {
+        checkIAE(data);
+        T found = null;
+        BSTNode<T> current = root;
+        while (current != null) {
+            if (current.getData().compareTo(data) > 0) {
+                found = current.getData();
+                current = current.getLeft();
+            } else {
+                current = current.getRight();
+            }
         }
-        return current;
+        return found;
+    }
+
+    /**
+     * Finds the largest data strictly less than the given data with a
+     * running time of O(log n) or worst case of O(n)
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to be compared
+     * @return the largest data less than data, null if none
+     */
+    public T lower(T data) {
+        checkIAE(data);
+        T found = null;
+        BSTNode<T> current = root;
+        while (current != null) {
+            if (current.getData().compareTo(data) < 0) {
+                found = current.getData();
+                current = current.getRight();
+            } else {
+                current = current.getLeft();
+            }
+        }
+        return found;
     }
 
     @Override
-    public List<T> levelorder() {
+    public List<T> preorder() {
+        //preorder: data, left, right
         List<T> toReturn = new ArrayList<T>(size);
-        if (root == null) {
-            return toReturn;
-        } else {
-            LinkedList<BSTNode<T>> aQueue = new LinkedList<BSTNode<T>>();
-            aQueue.addLast(root);
-            toReturn = levelorder(toReturn, root, aQueue);
-            return toReturn;
+        Deque<BSTNode<T>> stack = new ArrayDeque<BSTNode<T>>();
+        if (root != null) {
+            stack.push(root);
         }
+        while (!stack.isEmpty()) {
+            BSTNode<T> current = stack.pop();
+            toReturn.add(current.getData());
+            if (current.getRight() != null) {
+                stack.push(current.getRight());
+            }
+            if (current.getLeft() != null) {
+                stack.push(current.getLeft());
+            }
+        }
+        return toReturn;
     }
 
-    /**
-     * Recursive helper method for the levelorder() method with a running
-     * time of O(n)
-     * @param current the list that accumulates the BST in levelorder manner
-     * @param currentNode the current node that is being checked and added
-     * @param aQueue a queue to keep track of the level order
-     * @return the updated current list (added the data from currentNode)
-     */
-    private List<T> levelorder(List<T> current, BSTNode<T> currentNode,
-                               LinkedList<BSTNode<T>> aQueue) {
-        if (aQueue.peek() != null) {
-            BSTNode<T> x = aQueue.pop();
-            current.add(x.getData());
-            if (x.getLeft() != null) {
-                aQueue.addLast(currentNode.getLeft());
+    @Override
+    public List<T> postorder() {
+        //postorder: left, right, data, which is data, right, left reversed
+        List<T> toReturn = new ArrayList<T>(size);
+        Deque<BSTNode<T>> stack = new ArrayDeque<BSTNode<T>>();
+        if (root != null) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            BSTNode<T> current = stack.pop();
+            toReturn.add(current.getData());
+            if (current.getLeft() != null) {
+                stack.push(current.getLeft());
             }
-            if (x.getRight() != null) {
-                aQueue.addLast(currentNode.getRight());
+            if (current.getRight() != null) {
+                stack.push(current.getRight());
             }
-            current = levelorder(current, aQueue.peek(), aQueue);
         }
-        return current;
+        Collections.reverse(toReturn);
+        return toReturn;
+    }
+
+    @Override
+    public List<T> inorder() {
+        //inorder: left, data, right
+        List<T> toReturn = new ArrayList<T>(size);
+        for (T data : this) {
+            toReturn.add(data);
+        }
+        return toReturn;
+    }
+
+    @Override
+    public List<T> levelorder() {
+        List<T> toReturn = new ArrayList<T>(size);
+        if (root != null) {
+            Deque<BSTNode<T>> aQueue = new ArrayDeque<BSTNode<T>>();
+            aQueue.addLast(root);
+            while (!aQueue.isEmpty()) {
+                BSTNode<T> x = aQueue.removeFirst();
+                toReturn.add(x.getData());
+                if (x.getLeft() != null) {
+                    aQueue.addLast(x.getLeft());
+                }
+                if (x.getRight() != null) {
+                    aQueue.addLast(x.getRight());
+                }
+            }
+        }
+        return toReturn;
     }
 
     @Override
     public void clear() {
         root = null;
         size = 0;
+        maxSize = 0;
     }
 
+    /**
+     * Gets the cached height of the root with a running time of O(1)
+     * @return the height of the root, -1 if the BST is empty
+     */
     @Override
-    public int  height() {
-        if (root == null) {
-            return -1;
-        } else {
-            return height(root, 0) - 1;
-        }
+    public int height() {
+        return heightOf(root);
     }
 
     /**
-     * Recursive helper method of height() method to count the height of
-     * the sub-BST with a running time of O(n)
-     * @param current the root of the subtree
-     * @param counter the accumulator number that represents the height
-     * @return the updated counter
+     * Gets the number of nodes in the subtree rooted at the data, with a
+     * running time of O(log n) or worst case of O(n)
+     * @throws IllegalArgumentException if the data is null
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param data the data at the root of the subtree
+     * @return the size of the subtree
      */
-    private int height(BSTNode<T> current, int counter) {
-        int left;
-        int right;
-        if (current.getLeft() == null) {
-            left = 0;
-        } else {
-            left = height(current.getLeft(), counter + 1);
-        }
-        if (current.getRight() == null) {
-            right = 0;
-        } else {
-            right = height(current.getRight(), counter + 1);
-        }
-        return (Math.max(left, right) + 1);
+    public int subtreeSize(T data) {
+        return findOrThrow(data).getSize();
+    }
+
+    /**
+     * Gets the height of the left subtree minus the height of the right
+     * subtree of the data, with a running time of O(log n) or worst case
+     * of O(n). Anything beyond -1 to 1 means the BST is unbalanced there.
+     * @throws IllegalArgumentException if the data is null
+     * @throws java.util.NoSuchElementException if the data is not found
+     * @param data the data to check
+     * @return the balance factor of the node with the data
+     */
+    public int balanceFactor(T data) {
+        BSTNode<T> current = findOrThrow(data);
+        return heightOf(current.getLeft()) - heightOf(current.getRight());
     }
 
     @Override
     public int depth(T data) {
         if (data == null) {
             throw new IllegalArgumentException("Illegal Argument!");
-        } else if (root == null) {
-            return -1;
-        } else {
-            return depth(root, data, 1);
         }
-    }
-
-    /**
-     * Recursive helper method of height() method to count the depth of the
-     * sub-BST with a running time of O(n)
-     * @param current the root of the subtree
-     * @param data the data that tells the recursion to stop when it is found
-     * @param count the accumulator number that represents the depth
-     * @return the updated count
-     */
-    private int depth(BSTNode<T> current, T data, int count) {
-        if (current.getData().compareTo(data) == 0) {
-            return count;
-        } else {
-            if (current.getData().compareTo(data) > 0) {
-                return (current.getLeft() == null) ? -1
-                        : depth(current.getLeft(), data, ++count);
-            } else {
-                return (current.getRight() == null) ? -1
-                        : depth(current.getRight(), data, ++count);
+        int depth = 1;
+        for (BSTNode<T> current = root; current != null; depth++) {
+            int compared = current.getData().compareTo(data);
+            if (compared == 0) {
+                return depth;
             }
+            current = (compared < 0) ? current.getRight() : current.getLeft();
         }
+        return -1;
     }
 
     /**
@@ -409,4 +660,62 @@ public class BST<T extends Comparable<? super T>> implements BSTInterface<T> {
     public BSTNode<T> getRoot() {
         return root;
     }
-}
\ No newline at end of file
+
+    /**
+     * A private helper method that checks if the data is null
+     * @throws java.lang.IllegalArgumentException if the data is null
+     * @param data the data to be checked
+     */
+    private void checkIAE(Object data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+    }
+
+    /**
+     * A lazy in-order iterator over the data in [lo, hi) that keeps the
+     * path to the next node on an explicit stack instead of recursing
+     */
+    private class InorderIterator implements Iterator<T> {
+        private final Deque<BSTNode<T>> stack = new ArrayDeque<BSTNode<T>>();
+        private final T hi;
+
+        /**
+         * Creates an iterator that starts at the smallest data that is
+         * greater than or equal to lo
+         * @param current the root of the tree
+         * @param lo the smallest data to iterate, null if there is none
+         * @param hi the data to stop iterating at, null if there is none
+         */
+        private InorderIterator(BSTNode<T> current, T lo, T hi) {
+            this.hi = hi;
+            while (current != null) {
+                if (lo != null && current.getData().compareTo(lo) < 0) {
+                    current = current.getRight();
+                } else {
+                    stack.push(current);
+                    current = current.getLeft();
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty()
+                    && (hi == null || stack.peek().getData().compareTo(hi) < 0);
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No Such Element!");
+            }
+            BSTNode<T> current = stack.pop();
+            for (BSTNode<T> left = current.getRight(); left != null;
+                 left = left.getLeft()) {
+                stack.push(left);
+            }
+            return current.getData();
+        }
+    }
+}
@@ -2,6 +2,8 @@ public class BSTNode<T extends Comparable<? super T>> {
     private T data;
     private BSTNode<T> left;
     private BSTNode<T> right;
+    private int height;
+    private int size;
 
     /**
      * Create a BST node with the given data.
@@ -10,6 +12,7 @@ public class BSTNode<T extends Comparable<? super T>> {
      */
     public BSTNode(T d) {
         data = d;
+        size = 1;
     }
 
     /**
@@ -65,4 +68,40 @@ public class BSTNode<T extends Comparable<? super T>> {
     public void setRight(BSTNode<T> right) {
         this.right = right;
     }
+
+    /**
+     * Get the height of the subtree rooted at this node, 0 for a leaf.
+     *
+     * @return height of this node
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Set the height of the subtree rooted at this node.
+     *
+     * @param height height of this node
+     */
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    /**
+     * Get the number of nodes in the subtree rooted at this node.
+     *
+     * @return size of the subtree
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Set the number of nodes in the subtree rooted at this node.
+     *
+     * @param size size of the subtree
+     */
+    public void setSize(int size) {
+        this.size = size;
+    }
 }
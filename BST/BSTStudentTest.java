@@ -160,6 +160,108 @@ public class BSTStudentTest {
         assertEquals(levelorder, bst.levelorder());
     }
 
+    @Test(timeout = 200)
+    public void iteratorAndRanges() {
+        int[] data = {24, 1, 94, 7, 58, 12, 73, 68, 77};
+        for (int value : data) {
+            bst.add(value);
+        }
+        List<Integer> iterated = new ArrayList<>();
+        for (Integer value : bst) {
+            iterated.add(value);
+        }
+        assertEquals(bst.inorder(), iterated);
+
+        List<Integer> range = new ArrayList<>();
+        bst.subSet(7, 68).forEach(range::add);
+        List<Integer> expected = new ArrayList<>();
+        expected.add(7);
+        expected.add(12);
+        expected.add(24);
+        expected.add(58);
+        assertEquals(expected, range);
+        assertEquals((Object) 1, bst.headSet(2).iterator().next());
+        assertEquals((Object) 94, bst.tailSet(78).iterator().next());
+
+        assertEquals((Object) 58, bst.floor(60));
+        assertEquals((Object) 68, bst.ceiling(60));
+        assertEquals((Object) 73, bst.higher(68));
+        assertEquals((Object) 58, bst.lower(68));
+        assertEquals(null, bst.ceiling(95));
+    }
+
+    @Test(timeout = 200, expected = IllegalArgumentException.class)
+    public void subSetBackwards() {
+        bst.subSet(5, 1);
+    }
+
+    @Test(timeout = 5000)
+    public void sortedDataDoesNotOverflowTheStack() {
+        for (int i = 0; i < 12000; i++) {
+            bst.add(i);
+        }
+        assertEquals(11999, bst.height());
+        assertEquals(12000, bst.depth(11999));
+        assertTrue(bst.contains(11999));
+        assertEquals(12000, bst.postorder().size());
+        assertEquals((Object) 0, bst.remove(0));
+        assertEquals(11999, bst.size());
+    }
+
+    @Test(timeout = 1000)
+    public void scapegoatRebalancesSortedData() {
+        bst = new BST<Integer>(0.6);
+        for (int i = 0; i < 10000; i++) {
+            bst.add(i);
+        }
+        // log base 1/0.6 of 10000 is about 18
+        assertTrue(bst.height() <= 18);
+        for (int i = 0; i < 9000; i++) {
+            assertEquals((Object) i, bst.remove(i));
+        }
+        assertTrue(bst.height() <= 14);
+        assertEquals((Object) 9000, bst.inorder().get(0));
+    }
+
+    @Test(timeout = 200)
+    public void removeReplacesWithSuccessor() {
+        bst.add(10);
+        bst.add(5);
+        bst.add(15);
+        bst.add(3);
+        bst.add(7);
+        bst.add(8);
+
+        assertEquals((Object) 5, bst.remove(5));
+        assertEquals((Object) 7, bst.getRoot().getLeft().getData());
+        assertEquals((Object) 3, bst.getRoot().getLeft().getLeft().getData());
+        assertEquals((Object) 8, bst.getRoot().getLeft().getRight().getData());
+    }
+
+    @Test(timeout = 200)
+    public void cachedHeightAndSize() {
+        bst.add(10);
+        bst.add(5);
+        bst.add(15);
+        bst.add(3);
+        bst.add(1);
+        assertEquals(3, bst.height());
+        assertEquals(3, bst.subtreeSize(5));
+        assertEquals(2, bst.balanceFactor(5));
+        assertEquals(2, bst.balanceFactor(10));
+        assertEquals(0, bst.balanceFactor(15));
+
+        bst.remove(3);
+        assertEquals(2, bst.height());
+        assertEquals(2, bst.subtreeSize(5));
+        assertEquals(1, bst.balanceFactor(10));
+    }
+
+    @Test(timeout = 200, expected = IllegalArgumentException.class)
+    public void alphaOutOfRange() {
+        bst = new BST<Integer>(0.5);
+    }
+
     @Test(timeout = 200, expected = IllegalArgumentException.class)
     public void addExpectException() {
         bst.add(null);
@@ -1,6 +1,12 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -55,4 +61,67 @@ public class HeapPQStudentTest {
         assertEquals(new Integer(1), maxPriorityQueue.dequeue());
         assertTrue(maxPriorityQueue.isEmpty());
     }
+
+    @Test
+    public void testHeapifyAndAddAll() {
+        Random rand = new Random(50);
+        List<Integer> data = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            data.add(rand.nextInt(500));
+        }
+        MaxHeap<Integer> heap = new MaxHeap<>(data);
+        assertEquals(1000, heap.size());
+        assertHeap(heap);
+
+        // a small batch goes in one at a time, a big one rebuilds the heap
+        List<Integer> small = Arrays.asList(700, 3, 250);
+        heap.addAll(small);
+        assertHeap(heap);
+        List<Integer> big = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            big.add(rand.nextInt(1000));
+        }
+        heap.addAll(big);
+        assertHeap(heap);
+
+        List<Integer> expected = new ArrayList<>(data);
+        expected.addAll(small);
+        expected.addAll(big);
+        Collections.sort(expected, Collections.reverseOrder());
+        List<Integer> removed = new ArrayList<>();
+        while (!heap.isEmpty()) {
+            removed.add(heap.remove());
+        }
+        assertEquals(expected, removed);
+
+        MaxHeap<Integer> empty = new MaxHeap<>(new ArrayList<Integer>());
+        assertTrue(empty.isEmpty());
+        empty.addAll(Arrays.asList(2, 9, 4));
+        assertEquals(new Integer(9), empty.remove());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddAllNull() {
+        MaxHeap<Integer> heap = new MaxHeap<>(Arrays.asList(1, 2));
+        try {
+            heap.addAll(Arrays.asList(3, null));
+        } finally {
+            assertEquals(2, heap.size());
+        }
+    }
+
+    /**
+     * Checks every item of a heap is no greater than its parent
+     * @param heap the heap
+     */
+    private void assertHeap(MaxHeap<Integer> heap) {
+        Comparable<?>[] backing = heap.getBackingArray();
+        for (int index = 2; index <= heap.size(); index++) {
+            Integer child = (Integer) backing[index];
+            assertTrue(child.compareTo((Integer) backing[index / 2]) <= 0);
+        }
+        for (int index = heap.size() + 1; index < backing.length; index++) {
+            assertEquals(null, backing[index]);
+        }
+    }
 }
@@ -1,3 +1,5 @@
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.NoSuchElementException;
 
 /**
@@ -19,33 +21,77 @@ public class MaxHeap<T extends Comparable<? super T>>
         size = 0;
     }
 
+    /**
+     * Creates a MaxHeap with the data in the collection, in O(n) with
+     * Floyd's method: the data is copied into the backing array as is, and
+     * then every parent is bubbled down, from the last one to the root.
+     * Most of the parents are near the bottom and only move a level or
+     * two, where n adds would each bubble up O(log n) levels.
+     *
+     * @param data the data to put in the heap
+     * @throws IllegalArgumentException if data or any element in data is
+     * null
+     */
+    // arr only ever holds the Ts of data and of add
+    @SuppressWarnings("unchecked")
+    public MaxHeap(Collection<T> data) {
+        Object[] items = checkedArray(data);
+        arr = (T[]) new Comparable<?>[Math.max(STARTING_SIZE,
+                items.length + 1)];
+        System.arraycopy(items, 0, arr, 1, items.length);
+        size = items.length;
+        heapify();
+    }
+
     @Override
     public void add(T item) {
         if (item == null) {
             throw new IllegalArgumentException("Illegal Argument!");
         }
         if (size >= arr.length - 1) {
-            T[] arr2 = (T[]) new Comparable[arr.length * 2];
-            for (int index = 1; index < arr.length; index++) {
-                arr2[index] = arr[index];
-            }
-            arr = arr2;
+            arr = Arrays.copyOf(arr, arr.length * 2);
         }
         arr[++size] = item;
         bubbleUp(size);
     }
 
+    /**
+     * Adds every item of the collection. A batch at least as big as the
+     * heap is appended as is and the whole heap is rebuilt in O(n) the way
+     * the collection constructor does; a smaller one is added one item at
+     * a time.
+     *
+     * @param data the data to add
+     * @throws IllegalArgumentException if data or any element in data is
+     * null
+     */
+    public void addAll(Collection<T> data) {
+        Object[] items = checkedArray(data);
+        if (size + items.length >= arr.length) {
+            arr = Arrays.copyOf(arr, Math.max(arr.length * 2,
+                    size + items.length + 1));
+        }
+        System.arraycopy(items, 0, arr, size + 1, items.length);
+        int oldSize = size;
+        size += items.length;
+        if (items.length >= oldSize) {
+            heapify();
+        } else {
+            for (int index = oldSize + 1; index <= size; index++) {
+                bubbleUp(index);
+            }
+        }
+    }
+
     @Override
     public T remove() {
         if (isEmpty()) {
             throw new NoSuchElementException("No Such Element!");
         } else {
-            int index = 1;
-            T root = arr[index];
+            T root = arr[1];
             arr[1] = arr[size];
-            arr[size] = null;
-            bubbleDown(index);
-            size--;
+            arr[size--] = null;
+            bubbleDown(1);
             return root;
         }
     }
@@ -53,35 +99,57 @@ public class MaxHeap<T extends Comparable<? super T>>
     /**
      * Private helper method that helps maintain the maxheap
      * property. This method brings a value that is smaller
-     * than its children down the heap
+     * than its children down the heap, holding it aside and
+     * moving the greater child up until it finds its place
      * @param parent index of the value that needs to be bubbled down
      */
     private void bubbleDown(int parent) {
-        int left = parent * 2;
-        int right = parent * 2 + 1;
-        if (right <= arr.length) {
-            if ((arr[left] == null) && (arr[right] == null)) {
-                left = parent * 2;
-                right = parent * 2 + 1;
-            } else if ((arr[left] != null) && (arr[right] == null)) {
-                if (arr[left].compareTo(arr[parent]) > 0) {
-                    switchData(left, parent);
-                    bubbleDown(left);
-                }
-            } else if ((arr[right] != null) && (arr[left] != null)) {
-                if (arr[left].compareTo(arr[right]) > 0) {
-                    if (arr[left].compareTo(arr[parent]) > 0) {
-                        switchData(left, parent);
-                        bubbleDown(left);
-                    }
-                } else {
-                    if (arr[right].compareTo(arr[parent]) > 0) {
-                        switchData(right, parent);
-                        bubbleDown(right);
-                    }
-                }
+        T data = arr[parent];
+        int child = parent * 2;
+        while (child <= size) {
+            if (child < size && arr[child + 1].compareTo(arr[child]) > 0) {
+                child++;
+            }
+            if (arr[child].compareTo(data) <= 0) {
+                break;
+            }
+            arr[parent] = arr[child];
+            parent = child;
+            child = parent * 2;
+        }
+        arr[parent] = data;
+    }
+
+    /**
+     * Private helper method that restores the maxheap property
+     * of the whole backing array by bubbling down every parent,
+     * from the last one to the root
+     */
+    private void heapify() {
+        for (int parent = size / 2; parent >= 1; parent--) {
+            bubbleDown(parent);
+        }
+    }
+
+    /**
+     * Private helper method that copies a collection into an
+     * array, checking it and its elements
+     * @param data the collection
+     * @return the elements of the collection
+     * @throws IllegalArgumentException if data or any element in
+     * data is null
+     */
+    private Object[] checkedArray(Collection<T> data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+        Object[] items = data.toArray();
+        for (Object item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException("Illegal Argument!");
             }
         }
+        return items;
     }
 
     /**
@@ -105,9 +173,10 @@ public class MaxHeap<T extends Comparable<? super T>>
     private void bubbleUp(int childIndex) {
         while (childIndex > 1) {
             int parentIndex = childIndex / 2;
-            if (arr[childIndex].compareTo(arr[parentIndex]) > 0) {
-                switchData(childIndex, parentIndex);
+            if (arr[childIndex].compareTo(arr[parentIndex]) <= 0) {
+                return;
             }
+            switchData(childIndex, parentIndex);
             childIndex = parentIndex;
         }
     }
@@ -0,0 +1,554 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A skip list from byte[] keys to byte[] values that lives in one
+ * ByteBuffer, such as a memtable that is flushed to disk when it is full
+ *
+ * Nothing is a Java object: the arena starts with a header (a magic
+ * number, the size, the bytes used and the levels in use) and the head
+ * tower, and every put appends a node and its value after what is already
+ * there. A node is its height, the offset of its value, the length of its
+ * key, the offset of its next node on each of its levels, and then the key
+ * bytes. A value is its length and then its bytes. Offsets are ints from
+ * the start of the arena and 0 means none, since the header is there.
+ *
+ * Because the arena is always a complete list, flushing it is one
+ * sequential write of the bytes used, and open() maps the file back and
+ * reads it in place, without rebuilding anything. Keys are ordered by
+ * comparing their bytes as unsigned numbers, the shorter key first if one
+ * is a prefix of the other.
+ *
+ * Space is never reused: putting a key again appends the new value and
+ * leaves the old one behind. There is no remove; a memtable records a
+ * delete as a put of a tombstone value. The list is not thread safe.
+ *
+ * @version 1.0
+ */
+public class ArenaSkipList implements Iterable<Map.Entry<byte[], byte[]>> {
+
+    /**
+     * The most levels a node can have, plenty for 2^32 nodes
+     */
+    public static final int MAX_LEVEL = 32;
+
+    /**
+     * "SKIP", the first four bytes of every arena
+     */
+    private static final int MAGIC = 0x534B4950;
+
+    /**
+     * The offset of no node
+     */
+    private static final int NIL = 0;
+
+    // the header
+    private static final int MAGIC_AT = 0;
+    private static final int SIZE_AT = 4;
+    private static final int USED_AT = 8;
+    private static final int LEVELS_AT = 12;
+    private static final int HEAD = 16;
+
+    // the fields of a node, from its offset
+    private static final int HEIGHT = 0;
+    private static final int VALUE = 4;
+    private static final int KEY_LENGTH = 8;
+    private static final int NEXT = 12;
+
+    /**
+     * The offset of the first node, right after the head tower
+     */
+    private static final int FIRST = HEAD + NEXT + 4 * MAX_LEVEL;
+
+    private final ByteBuffer arena;
+    private final LevelGenerator levelGenerator;
+    private int size;
+    private int used;
+    private int levels;
+
+    /**
+     * The last node before the key on each level, filled by a search
+     */
+    private final int[] preds = new int[MAX_LEVEL];
+
+    /**
+     * Constructs an empty list in a new direct buffer, outside the Java
+     * heap, where each key gets one more level with probability 1/2
+     *
+     * @param capacity the size of the arena in bytes
+     * @throws IllegalArgumentException if capacity is too small for the
+     * header
+     */
+    public ArenaSkipList(int capacity) {
+        this(allocate(capacity), new LevelGenerator());
+    }
+
+    /**
+     * Constructs an empty list in the given buffer, such as a file mapped
+     * read and write, overwriting what is in it
+     *
+     * @param arena the buffer to hold the list
+     * @param levelGenerator the source of the levels
+     * @throws IllegalArgumentException if arena or levelGenerator is null,
+     * or arena is too small for the header
+     */
+    public ArenaSkipList(ByteBuffer arena, LevelGenerator levelGenerator) {
+        this(arena, levelGenerator, false);
+        writeHeader();
+        this.arena.putInt(HEAD + HEIGHT, MAX_LEVEL);
+        this.arena.putInt(HEAD + VALUE, NIL);
+        this.arena.putInt(HEAD + KEY_LENGTH, 0);
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            setNextOf(HEAD, level, NIL);
+        }
+    }
+
+    /**
+     * Private constructor that keeps the arena and, if it already holds a
+     * list, reads its header
+     *
+     * @param arena the buffer holding the list
+     * @param levelGenerator the source of the levels
+     * @param existing true to read the list in the arena, false for a new
+     *                 empty one
+     * @throws IllegalArgumentException if arena or levelGenerator is null,
+     * arena is too small for the header, or it does not hold a list when
+     * it should
+     */
+    private ArenaSkipList(ByteBuffer arena, LevelGenerator levelGenerator,
+            boolean existing) {
+        if (arena == null || levelGenerator == null
+                || arena.capacity() < FIRST) {
+            throw new IllegalArgumentException("Illegal Argument Exception");
+        }
+        // a view of our own, so the caller's position and order do not
+        // matter and the bytes mean the same on every machine
+        this.arena = arena.duplicate().order(ByteOrder.BIG_ENDIAN);
+        this.levelGenerator = levelGenerator;
+        if (existing) {
+            size = this.arena.getInt(SIZE_AT);
+            used = this.arena.getInt(USED_AT);
+            levels = this.arena.getInt(LEVELS_AT);
+            if (this.arena.getInt(MAGIC_AT) != MAGIC || size < 0
+                    || used < FIRST || used > arena.capacity()
+                    || levels < 1 || levels > MAX_LEVEL) {
+                throw new IllegalArgumentException(
+                        "Illegal Argument Exception");
+            }
+        } else {
+            size = 0;
+            used = FIRST;
+            levels = 1;
+        }
+    }
+
+    /**
+     * Private helper method that allocates a direct buffer
+     *
+     * @param capacity the size of the buffer in bytes
+     * @return the buffer
+     * @throws IllegalArgumentException if capacity is too small for the
+     * header
+     */
+    private static ByteBuffer allocate(int capacity) {
+        if (capacity < FIRST) {
+            throw new IllegalArgumentException("Illegal Argument Exception");
+        }
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * Reads the list a buffer already holds, in place
+     *
+     * @param arena the buffer, starting with the header of a list
+     * @return the list
+     * @throws IllegalArgumentException if arena is null or does not hold
+     * a list
+     */
+    public static ArenaSkipList open(ByteBuffer arena) {
+        return new ArenaSkipList(arena, new LevelGenerator(), true);
+    }
+
+    /**
+     * Maps a file written by writeTo and reads the list in it, in place.
+     * The mapping is read only, so put throws ReadOnlyBufferException.
+     *
+     * @param file the file
+     * @return the list
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if file is null or does not hold a
+     * list
+     */
+    public static ArenaSkipList open(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Illegal Argument Exception");
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            return open(channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size()));
+        }
+    }
+
+    /**
+     * Writes the bytes used of the arena, which open() can read back
+     *
+     * @param channel where to write
+     * @throws IOException if the channel cannot be written
+     * @throws IllegalArgumentException if channel is null
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("Illegal Argument Exception");
+        }
+        ByteBuffer view = arena.duplicate();
+        view.position(0);
+        view.limit(used);
+        while (view.hasRemaining()) {
+            channel.write(view);
+        }
+    }
+
+    /**
+     * Writes the bytes used of the arena to a file, replacing it, and
+     * forces them to the disk
+     *
+     * @param file the file
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if file is null
+     */
+    public void writeTo(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Illegal Argument Exception");
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeTo(channel);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Puts the value for the key, replacing any value it had, if there is
+     * room left in the arena. The key and value are copied.
+     *
+     * @param key the key
+     * @param value the value
+     * @return true if it was put, false if the arena is too full, in which
+     * case the list is unchanged
+     * @throws IllegalArgumentException if key or value is null
+     * @throws ReadOnlyBufferException if the arena is read only
+     */
+    public boolean put(byte[] key, byte[] value) {
+        checkIllegalArgument(key);
+        checkIllegalArgument(value);
+        if (arena.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        int found = findPreds(key);
+        long valueSize = 4L + value.length;
+        if (found != NIL) {
+            if (used + valueSize > arena.capacity()) {
+                return false;
+            }
+            arena.putInt(found + VALUE, append(value));
+            writeHeader();
+            return true;
+        }
+        int height = Math.min(levelGenerator.nextLevel(), MAX_LEVEL);
+        int keyAt = NEXT + 4 * height;
+        if (used + keyAt + key.length + valueSize > arena.capacity()) {
+            return false;
+        }
+        int added = used;
+        arena.putInt(added + HEIGHT, height);
+        arena.putInt(added + KEY_LENGTH, key.length);
+        write(added + keyAt, key);
+        used += keyAt + key.length;
+        arena.putInt(added + VALUE, append(value));
+        for (; levels < height; levels++) {
+            preds[levels] = HEAD;
+        }
+        for (int level = 0; level < height; level++) {
+            setNextOf(added, level, nextOf(preds[level], level));
+            setNextOf(preds[level], level, added);
+        }
+        size++;
+        writeHeader();
+        return true;
+    }
+
+    /**
+     * Gets a copy of the value of the key
+     *
+     * @param key the key
+     * @return the value
+     * @throws IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException if the key is not in the
+     * list
+     */
+    public byte[] get(byte[] key) {
+        checkIllegalArgument(key);
+        int found = find(key);
+        if (found == NIL) {
+            throw new NoSuchElementException("No Such Element!");
+        }
+        return valueOf(found);
+    }
+
+    /**
+     * Checks if the key is in the list
+     *
+     * @param key the key
+     * @return true if it is, false otherwise
+     * @throws IllegalArgumentException if key is null
+     */
+    public boolean containsKey(byte[] key) {
+        checkIllegalArgument(key);
+        return find(key) != NIL;
+    }
+
+    /**
+     * Gets the number of keys in the list
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of bytes of the arena in use, which is how many
+     * writeTo writes
+     *
+     * @return the bytes used
+     */
+    public int bytesUsed() {
+        return used;
+    }
+
+    /**
+     * Gets the size of the arena
+     *
+     * @return the capacity in bytes
+     */
+    public int capacity() {
+        return arena.capacity();
+    }
+
+    /**
+     * The entries in ascending order of key. Each entry holds copies of
+     * the key and value.
+     *
+     * @return an iterator over the entries
+     */
+    @Override
+    public Iterator<Map.Entry<byte[], byte[]>> iterator() {
+        return new Iterator<Map.Entry<byte[], byte[]>>() {
+            private int next = nextOf(HEAD, 0);
+
+            @Override
+            public boolean hasNext() {
+                return next != NIL;
+            }
+
+            @Override
+            public Map.Entry<byte[], byte[]> next() {
+                if (next == NIL) {
+                    throw new NoSuchElementException("No Such Element!");
+                }
+                int current = next;
+                next = nextOf(current, 0);
+                return new AbstractMap.SimpleImmutableEntry<byte[], byte[]>(
+                        keyOf(current), valueOf(current));
+            }
+        };
+    }
+
+    /**
+     * A private helper method that searches for the key and fills preds
+     * with the last node before it on each level in use
+     * @param key the key to be searched for
+     * @return the node with the key, NIL if there is none
+     */
+    private int findPreds(byte[] key) {
+        int current = HEAD;
+        for (int level = levels - 1; level >= 0; level--) {
+            int next = nextOf(current, level);
+            while (next != NIL && compare(next, key) < 0) {
+                current = next;
+                next = nextOf(current, level);
+            }
+            preds[level] = current;
+        }
+        int found = nextOf(current, 0);
+        return (found != NIL && compare(found, key) == 0) ? found : NIL;
+    }
+
+    /**
+     * A private helper method that searches for the key without changing
+     * anything
+     * @param key the key to be searched for
+     * @return the node with the key, NIL if there is none
+     */
+    private int find(byte[] key) {
+        int current = HEAD;
+        for (int level = levels - 1; level >= 0; level--) {
+            int next = nextOf(current, level);
+            while (next != NIL) {
+                int compared = compare(next, key);
+                if (compared == 0) {
+                    return next;
+                } else if (compared > 0) {
+                    break;
+                }
+                current = next;
+                next = nextOf(current, level);
+            }
+        }
+        return NIL;
+    }
+
+    /**
+     * A private helper method that compares the key of a node with a key,
+     * byte by byte as unsigned numbers
+     * @param node the node
+     * @param key the key
+     * @return negative, zero or positive if the key of the node is less
+     * than, equal to or greater than the key
+     */
+    private int compare(int node, byte[] key) {
+        int length = arena.getInt(node + KEY_LENGTH);
+        int start = keyAt(node);
+        int common = Math.min(length, key.length);
+        for (int index = 0; index < common; index++) {
+            int compared = (arena.get(start + index) & 0xFF)
+                    - (key[index] & 0xFF);
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return length - key.length;
+    }
+
+    /**
+     * A private helper method that gets the next node of a node
+     * @param node the node, or HEAD
+     * @param level the level, from 0
+     * @return the next node, NIL if there is none
+     */
+    private int nextOf(int node, int level) {
+        return arena.getInt(node + NEXT + 4 * level);
+    }
+
+    /**
+     * A private helper method that sets the next node of a node
+     * @param node the node, or HEAD
+     * @param level the level, from 0
+     * @param next the next node, NIL for none
+     */
+    private void setNextOf(int node, int level, int next) {
+        arena.putInt(node + NEXT + 4 * level, next);
+    }
+
+    /**
+     * A private helper method that gets where the key of a node starts
+     * @param node the node
+     * @return the offset of the first byte of the key
+     */
+    private int keyAt(int node) {
+        return node + NEXT + 4 * arena.getInt(node + HEIGHT);
+    }
+
+    /**
+     * A private helper method that copies the key of a node
+     * @param node the node
+     * @return the key
+     */
+    private byte[] keyOf(int node) {
+        return read(keyAt(node), arena.getInt(node + KEY_LENGTH));
+    }
+
+    /**
+     * A private helper method that copies the value of a node
+     * @param node the node
+     * @return the value
+     */
+    private byte[] valueOf(int node) {
+        int value = arena.getInt(node + VALUE);
+        return read(value + 4, arena.getInt(value));
+    }
+
+    /**
+     * A private helper method that appends a value to the arena, which
+     * must have room for it
+     * @param value the value
+     * @return the offset of the value
+     */
+    private int append(byte[] value) {
+        int added = used;
+        arena.putInt(added, value.length);
+        write(added + 4, value);
+        used += 4 + value.length;
+        return added;
+    }
+
+    /**
+     * A private helper method that copies bytes into the arena
+     * @param offset where to copy them
+     * @param bytes the bytes
+     */
+    private void write(int offset, byte[] bytes) {
+        ByteBuffer view = arena.duplicate();
+        view.position(offset);
+        view.put(bytes);
+    }
+
+    /**
+     * A private helper method that copies bytes out of the arena
+     * @param offset where they start
+     * @param length how many there are
+     * @return the bytes
+     */
+    private byte[] read(int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer view = arena.duplicate();
+        view.position(offset);
+        view.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * A private helper method that stores the size, bytes used and levels
+     * in the header
+     */
+    private void writeHeader() {
+        arena.putInt(MAGIC_AT, MAGIC);
+        arena.putInt(SIZE_AT, size);
+        arena.putInt(USED_AT, used);
+        arena.putInt(LEVELS_AT, levels);
+    }
+
+    /**
+     * This method checks whether the data is null and throw "Illegal
+     * Argument Exception" if the data is null
+     *
+     * @param data the data to be checks
+     */
+    private void checkIllegalArgument(byte[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Illegal Argument Exception");
+        }
+    }
+}
@@ -0,0 +1,476 @@
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A skip list that many threads can read and write at once without locks
+ *
+ * Each item is one tower: its key, its current data and an array of next
+ * pointers, one per level. A next pointer is marked by swapping it for a
+ * Marked wrapper around it, which means its tower is being unlinked at
+ * that level (Harris and Fraser). An unmarked pointer is just the next
+ * tower, so walking the list costs no more loads than a plain linked
+ * list. Every change is a single compareAndSet, and a thread that finds a
+ * marked tower in its way unlinks it for whoever marked it, so no thread
+ * ever waits for another.
+ *
+ * An item is removed when its data is swapped to null, which is where
+ * remove is linearizable. The tower is then marked from the top down and
+ * unlinked. put of new data is linearizable when the tower is linked on
+ * the bottom level, and put of equal data when the data is swapped. get
+ * and contains never write; they skip marked towers and are linearizable
+ * when they read the data.
+ *
+ * size() is exact when no write is running. first(), last(), dataSet()
+ * and getHead() walk the list while it may change, so they see every
+ * item that was there for the whole walk and none that was removed
+ * before it.
+ *
+ * @version 1.0
+ */
+public class ConcurrentSkipList<T extends Comparable<? super T>>
+    implements SkipListInterface<T> {
+
+    /**
+     * The most levels a tower can have; more heads than this are ignored
+     */
+    private static final int MAX_LEVEL = 32;
+
+    private final LevelGenerator levelGenerator;
+    private final Tower<T> head = new Tower<T>(null, MAX_LEVEL);
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * The number of levels that have ever been used, so a search does not
+     * start on levels that are all empty
+     */
+    private final AtomicInteger levels = new AtomicInteger(1);
+
+    /**
+     * Constructs a ConcurrentSkipList object that stores data in ascending
+     * order. When an item is inserted, the flipper is called until it
+     * returns a tails. If, for an item, the flipper returns n heads, its
+     * tower has n + 1 levels. The flipper is shared by every thread that
+     * puts; its Random is thread safe, but its flip count is only exact
+     * with one writer.
+     *
+     * @param coinFlipper the source of randomness
+     */
+    public ConcurrentSkipList(CoinFlipper coinFlipper) {
+        this(new LevelGenerator(coinFlipper));
+    }
+
+    /**
+     * Constructs a ConcurrentSkipList object that stores data in ascending
+     * order, where the generator picks how many levels each item gets. A
+     * generator made with a seed must not be shared by threads that put.
+     *
+     * @param levelGenerator the source of the levels
+     */
+    public ConcurrentSkipList(LevelGenerator levelGenerator) {
+        this.levelGenerator = levelGenerator;
+    }
+
+    /**
+     * Constructs a ConcurrentSkipList object where each item gets one more
+     * level with probability 1/2, drawn from ThreadLocalRandom
+     */
+    public ConcurrentSkipList() {
+        this(new LevelGenerator());
+    }
+
+    @Override
+    public void put(T data) {
+        checkIllegalArgument(data);
+        Tower<T>[] preds = newTowers();
+        Tower<T>[] succs = newTowers();
+        Tower<T> added = null;
+        while (true) {
+            Tower<T> found = find(data, preds, succs);
+            if (found != null) {
+                T current = found.data.get();
+                if (current == null) {
+                    // it is being removed; finish that first
+                    mark(found);
+                } else if (found.data.compareAndSet(current, data)) {
+                    return;
+                }
+                continue;
+            }
+            if (added == null) {
+                added = new Tower<T>(data, flip());
+                levels.accumulateAndGet(added.next.length(), Math::max);
+            }
+            added.next.set(0, succs[0]);
+            if (preds[0].next.compareAndSet(0, succs[0], added)) {
+                break;
+            }
+        }
+        size.incrementAndGet();
+        linkUp(added, preds, succs);
+    }
+
+    /**
+     * A private helper method that links a tower, already linked on the
+     * bottom level, on every level above it. It stops early if the tower is
+     * removed meanwhile.
+     * @param added the tower to be linked
+     * @param preds the towers before it on each level
+     * @param succs the towers after it on each level
+     */
+    private void linkUp(Tower<T> added, Tower<T>[] preds, Tower<T>[] succs) {
+        for (int level = 1; level < added.next.length(); level++) {
+            while (true) {
+                Object old = added.next.get(level);
+                if (old instanceof Marked) {
+                    return;
+                }
+                if (old != succs[level] && !added.next.compareAndSet(level,
+                        old, succs[level])) {
+                    continue;
+                }
+                if (preds[level].next.compareAndSet(level, succs[level],
+                        added)) {
+                    break;
+                }
+                if (find(added.key, preds, succs) != added) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * A private helper method that finds, on every level, the last tower
+     * before the data and the first tower at or after it. It unlinks every
+     * marked tower it passes and starts over if another thread changed a
+     * link it was about to change.
+     * @param data the data to be searched for
+     * @param preds filled with the last tower before the data on each level
+     * @param succs filled with the first tower at or after the data on each
+     *              level
+     * @return the tower with data equal to the data, null if there is none
+     */
+    private Tower<T> find(T data, Tower<T>[] preds, Tower<T>[] succs) {
+        int top = levels.get();
+        for (int level = top; level < MAX_LEVEL; level++) {
+            // not used yet; linking there fails if it is by then
+            preds[level] = head;
+            succs[level] = null;
+        }
+        retry:
+        while (true) {
+            Tower<T> pred = head;
+            for (int level = top - 1; level >= 0; level--) {
+                Tower<T> current = pred.next(level);
+                while (current != null) {
+                    Object link = current.next.get(level);
+                    if (link instanceof Marked) {
+                        Tower<T> succ = unmark(link);
+                        if (!pred.next.compareAndSet(level, current, succ)) {
+                            continue retry;
+                        }
+                        current = succ;
+                    } else if (current.key.compareTo(data) < 0) {
+                        pred = current;
+                        current = unmark(link);
+                    } else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = current;
+            }
+            Tower<T> found = succs[0];
+            return (found != null && found.key.compareTo(data) == 0)
+                    ? found : null;
+        }
+    }
+
+    /**
+     * A private helper method that finds the tower of the data without
+     * changing anything, skipping the marked towers
+     * @param data the data to be searched for
+     * @return the data in the list equal to the data, null if there is none
+     */
+    private T lookup(T data) {
+        Tower<T> pred = head;
+        Tower<T> current = null;
+        for (int level = levels.get() - 1; level >= 0; level--) {
+            current = pred.next(level);
+            while (current != null) {
+                Object link = current.next.get(level);
+                if (link instanceof Marked) {
+                    current = unmark(link);
+                } else if (current.key.compareTo(data) < 0) {
+                    pred = current;
+                    current = unmark(link);
+                } else {
+                    break;
+                }
+            }
+        }
+        return (current != null && current.key.compareTo(data) == 0)
+                ? current.data.get() : null;
+    }
+
+    /**
+     * A private helper method that marks every next pointer of a removed
+     * tower, from the top level down to the bottom one
+     * @param tower the tower whose data was set to null
+     */
+    private void mark(Tower<T> tower) {
+        for (int level = tower.next.length() - 1; level >= 0; level--) {
+            Object link = tower.next.get(level);
+            while (!(link instanceof Marked)
+                    && !tower.next.compareAndSet(level, link,
+                            new Marked(link))) {
+                link = tower.next.get(level);
+            }
+        }
+    }
+
+    /**
+     * A private helper method that gets the tower a next pointer points
+     * to, whether it is marked or not
+     * @param link the next pointer
+     * @return the tower it points to, null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Tower<T> unmark(Object link) {
+        return (Tower<T>) ((link instanceof Marked)
+                ? ((Marked) link).link : link);
+    }
+
+    /**
+     * A private helper method that picks the height of a new tower
+     * @return the number of levels of a new tower, at most MAX_LEVEL
+     */
+    private int flip() {
+        return Math.min(MAX_LEVEL, levelGenerator.nextLevel());
+    }
+
+    /**
+     * A private helper method that makes an array for a search's towers
+     * @return an empty array with one slot per level
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Tower<T>[] newTowers() {
+        return (Tower<T>[]) new Tower[MAX_LEVEL];
+    }
+
+    @Override
+    public T first() {
+        Tower<T> current = head.next(0);
+        while (current != null) {
+            T data = current.data.get();
+            if (data != null) {
+                return data;
+            }
+            current = current.next(0);
+        }
+        throw new NoSuchElementException("No Such Element!");
+    }
+
+    @Override
+    public T last() {
+        Tower<T> pred = head;
+        for (int level = levels.get() - 1; level > 0; level--) {
+            Tower<T> current = pred.next(level);
+            while (current != null) {
+                Object link = current.next.get(level);
+                if (!(link instanceof Marked)) {
+                    pred = current;
+                }
+                current = unmark(link);
+            }
+        }
+        T last = lastFrom(pred);
+        if (last == null && pred != head) {
+            // everything after pred was removed meanwhile
+            last = lastFrom(head);
+        }
+        if (last == null) {
+            throw new NoSuchElementException("No Such Element!");
+        }
+        return last;
+    }
+
+    /**
+     * A private helper method that walks the bottom level to its end
+     * @param start the tower to start from
+     * @return the data of the last tower from start on that was not
+     * removed, null if there is none
+     */
+    private T lastFrom(Tower<T> start) {
+        T last = null;
+        for (Tower<T> current = start; current != null;
+                current = current.next(0)) {
+            T data = current.data.get();
+            if (data != null) {
+                last = data;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * This method checks whether the data is null and throw "Illegal
+     * Argument Exception" if the data is null
+     *
+     * @param data the data to be checks
+     */
+    private void checkIllegalArgument(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Illegal Argument Exception");
+        }
+    }
+
+    @Override
+    public T remove(T data) {
+        checkIllegalArgument(data);
+        Tower<T>[] preds = newTowers();
+        Tower<T>[] succs = newTowers();
+        while (true) {
+            Tower<T> found = find(data, preds, succs);
+            T current = (found == null) ? null : found.data.get();
+            if (current == null) {
+                throw new NoSuchElementException("No Such Element!");
+            }
+            if (found.data.compareAndSet(current, null)) {
+                size.decrementAndGet();
+                mark(found);
+                find(data, preds, succs);
+                return current;
+            }
+        }
+    }
+
+    @Override
+    public boolean contains(T data) {
+        checkIllegalArgument(data);
+        return lookup(data) != null;
+    }
+
+    @Override
+    public T get(T data) {
+        checkIllegalArgument(data);
+        T found = lookup(data);
+        if (found == null) {
+            throw new NoSuchElementException("No Such Element!");
+        }
+        return found;
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Removes every item one at a time, each as if by remove, with a
+     * running time of O(n log n)
+     */
+    @Override
+    public void clear() {
+        Tower<T>[] preds = newTowers();
+        Tower<T>[] succs = newTowers();
+        for (Tower<T> current = head.next(0); current != null;
+                current = current.next(0)) {
+            T data = current.data.get();
+            if (data != null && current.data.compareAndSet(data, null)) {
+                size.decrementAndGet();
+                mark(current);
+                find(current.key, preds, succs);
+            }
+        }
+    }
+
+    /**
+     * The data of each item of the skip list, in ascending order.
+     * @return a set of all the data in the skip list
+     */
+    @Override
+    public Set<T> dataSet() {
+        Set<T> toReturn = new LinkedHashSet<T>();
+        for (Tower<T> current = head.next(0); current != null;
+                current = current.next(0)) {
+            T data = current.data.get();
+            if (data != null) {
+                toReturn.add(data);
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Builds a copy of the list out of four-way linked Nodes, the way
+     * SkipList lays them out, so it can be printed. Changes to the copy do
+     * not change the list.
+     * @return the head of the copy
+     */
+    @Override
+    public Node<T> getHead() {
+        List<T> data = new ArrayList<T>();
+        List<Integer> heights = new ArrayList<Integer>();
+        for (Tower<T> current = head.next(0); current != null;
+                current = current.next(0)) {
+            T currentData = current.data.get();
+            if (currentData != null) {
+                data.add(currentData);
+                heights.add(current.next.length());
+            }
+        }
+        return Node.copyOf(data, heights);
+    }
+
+    /**
+     * One item of the list with its next pointer on each of its levels
+     */
+    private static final class Tower<T> {
+        private final T key;
+        private final AtomicReference<T> data;
+        private final AtomicReferenceArray<Object> next;
+
+        /**
+         * Makes a tower with no next towers
+         * @param data the data of the tower, null for the head
+         * @param height the number of levels of the tower
+         */
+        private Tower(T data, int height) {
+            key = data;
+            this.data = new AtomicReference<T>(data);
+            next = new AtomicReferenceArray<Object>(height);
+        }
+
+        /**
+         * Gets the next tower on a level, whether the pointer to it is
+         * marked or not
+         * @param level the level
+         * @return the next tower, null if there is none
+         */
+        private Tower<T> next(int level) {
+            return unmark(next.get(level));
+        }
+    }
+
+    /**
+     * A marked next pointer, which is never changed again
+     */
+    private static final class Marked {
+        private final Object link;
+
+        /**
+         * Marks a next pointer
+         * @param link the tower it points to
+         */
+        private Marked(Object link) {
+            this.link = link;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks how many levels a new skip list item gets.
+ *
+ * An item gets one more level with probability p each time, up to a
+ * maximum, so the number of levels is geometric. Flipping a coin per
+ * level costs one call to a shared java.util.Random per level, each one a
+ * compare and set on its seed. Instead, the whole height is drawn at once:
+ * when p is 1/2, 1/4, 1/8 and so on, it is the number of trailing zero bits
+ * of one random long, divided by the bits per level, and for any other p
+ * it is one random double through the inverse of the distribution. The
+ * random numbers come from ThreadLocalRandom, so threads never contend,
+ * or from a seeded SplittableRandom for repeatable runs.
+ *
+ * A CoinFlipper can still be used instead, flipped once per level as
+ * before, so tests can choose the heights.
+ *
+ * @version 1.0
+ */
+public class LevelGenerator {
+
+    /**
+     * The default most levels an item can have, plenty for 2^32 items
+     */
+    public static final int DEFAULT_MAX_LEVEL = 32;
+
+    private final double p;
+    private final int maxLevel;
+
+    /**
+     * The random bits per level when p is 1/2^bitsPerLevel, 0 otherwise
+     */
+    private final int bitsPerLevel;
+    private final SplittableRandom random;
+    private final CoinFlipper coinFlipper;
+
+    /**
+     * Makes a generator where each level is kept with probability 1/2, up
+     * to DEFAULT_MAX_LEVEL levels, using ThreadLocalRandom
+     */
+    public LevelGenerator() {
+        this(0.5, DEFAULT_MAX_LEVEL);
+    }
+
+    /**
+     * Makes a generator using ThreadLocalRandom, which any number of
+     * threads can share
+     *
+     * @param p the probability an item gets one more level
+     * @param maxLevel the most levels an item can have
+     * @throws IllegalArgumentException if p is not between 0 and 1 or
+     * maxLevel is less than 1
+     */
+    public LevelGenerator(double p, int maxLevel) {
+        this(p, maxLevel, null, null);
+    }
+
+    /**
+     * Makes a generator using a SplittableRandom with the given seed, so
+     * the levels are the same on every run. It must only be used by one
+     * thread.
+     *
+     * @param p the probability an item gets one more level
+     * @param maxLevel the most levels an item can have
+     * @param seed the seed of the random numbers
+     * @throws IllegalArgumentException if p is not between 0 and 1 or
+     * maxLevel is less than 1
+     */
+    public LevelGenerator(double p, int maxLevel, long seed) {
+        this(p, maxLevel, new SplittableRandom(seed), null);
+    }
+
+    /**
+     * Makes a generator that flips the coin until it returns a tails. If
+     * it returns n heads, the item gets n + 1 levels, with no maximum.
+     *
+     * @param coinFlipper the source of randomness
+     * @throws IllegalArgumentException if coinFlipper is null
+     */
+    public LevelGenerator(CoinFlipper coinFlipper) {
+        this(0.5, Integer.MAX_VALUE, null, checkNotNull(coinFlipper));
+    }
+
+    /**
+     * Private constructor that checks and keeps every setting
+     *
+     * @param p the probability an item gets one more level
+     * @param maxLevel the most levels an item can have
+     * @param random the seeded random numbers, null for ThreadLocalRandom
+     * @param coinFlipper the coin to flip per level, null to draw the
+     *                    height at once
+     */
+    private LevelGenerator(double p, int maxLevel, SplittableRandom random,
+            CoinFlipper coinFlipper) {
+        if (!(p > 0 && p < 1) || maxLevel < 1) {
+            throw new IllegalArgumentException("Illegal Argument Exception");
+        }
+        this.p = p;
+        this.maxLevel = maxLevel;
+        this.random = random;
+        this.coinFlipper = coinFlipper;
+        int bits = (int) Math.round(-Math.log(p) / Math.log(2));
+        bitsPerLevel = (bits >= 1 && bits < Long.SIZE
+                && p == Math.scalb(1.0, -bits)) ? bits : 0;
+    }
+
+    /**
+     * Private helper method that checks the coin flipper is not null
+     *
+     * @param coinFlipper the coin flipper
+     * @return the coin flipper
+     * @throws IllegalArgumentException if coinFlipper is null
+     */
+    private static CoinFlipper checkNotNull(CoinFlipper coinFlipper) {
+        if (coinFlipper == null) {
+            throw new IllegalArgumentException("Illegal Argument Exception");
+        }
+        return coinFlipper;
+    }
+
+    /**
+     * Picks the number of levels of a new item
+     *
+     * @return the number of levels, from 1 to the maximum
+     */
+    public int nextLevel() {
+        if (coinFlipper != null) {
+            int level = 1;
+            while (level < maxLevel
+                    && coinFlipper.flipCoin() == CoinFlipper.Coin.HEADS) {
+                level++;
+            }
+            return level;
+        }
+        if (bitsPerLevel > 0) {
+            // each level needs bitsPerLevel more zeros, each 1/2 likely
+            long bits = (random == null)
+                    ? ThreadLocalRandom.current().nextLong()
+                    : random.nextLong();
+            return Math.min(maxLevel,
+                    1 + Long.numberOfTrailingZeros(bits) / bitsPerLevel);
+        }
+        double uniform = 1.0 - ((random == null)
+                ? ThreadLocalRandom.current().nextDouble()
+                : random.nextDouble());
+        return 1 + (int) Math.min(maxLevel - 1,
+                Math.log(uniform) / Math.log(p));
+    }
+
+    /**
+     * Gets the probability an item gets one more level
+     *
+     * @return the probability
+     */
+    public double getP() {
+        return p;
+    }
+
+    /**
+     * Gets the most levels an item can have
+     *
+     * @return the maximum number of levels
+     */
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+}
@@ -1,3 +1,6 @@
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  *
  * A container for key-value pairs for the skip list.
@@ -12,6 +15,7 @@ public class Node<T extends Comparable<? super T>> {
     private Node<T> next;
     private Node<T> up;
     private Node<T> down;
+    private int span;
 
     /**
      * Constructs a skip list node for storing key-value pairs.
@@ -92,6 +96,16 @@ public class Node<T extends Comparable<? super T>> {
     }
 
 
+    /**
+     * Gets the number of bottom level steps from this node to the next
+     * node. It is only kept up to date by SkipList, and only if there is
+     * a next node.
+     * @return the span of the link to the next node
+     */
+    public int getSpan() {
+        return span;
+    }
+
     /**
      * Set the data of this node.
      * @param data the data the node will store
@@ -115,6 +129,17 @@ public class Node<T extends Comparable<? super T>> {
     }
 
 
+    /**
+     * Set the number of bottom level steps from this node to the next node.
+     * @param span the span of the link to the next node
+     * @return the old span that was replaced
+     */
+    public int setSpan(int span) {
+        int old = this.span;
+        this.span = span;
+        return old;
+    }
+
     /**
      * Set the next node from this node.
      * @param prev the node to point to
@@ -158,4 +183,50 @@ public class Node<T extends Comparable<? super T>> {
         this.down = down;
         return old;
     }
+
+    /**
+     * Builds four-way linked Nodes laid out the way SkipList lays them out,
+     * for skip lists that store their items some other way. The head has
+     * as many levels as the tallest item, and at least one.
+     * @param data the data of each item, in ascending order
+     * @param heights the number of levels of each item
+     * @param <T> the data stored in the nodes
+     * @return the top node of the head
+     */
+    static <T extends Comparable<? super T>> Node<T> copyOf(List<T> data,
+            List<Integer> heights) {
+        int height = 1;
+        for (int itemHeight : heights) {
+            height = Math.max(height, itemHeight);
+        }
+        List<Node<T>> below = null;
+        Node<T> levelHead = null;
+        for (int level = 1; level <= height; level++) {
+            Node<T> upper = new Node<T>(null, level);
+            upper.setDown(levelHead);
+            if (levelHead != null) {
+                levelHead.setUp(upper);
+            }
+            levelHead = upper;
+            List<Node<T>> nodes = new ArrayList<Node<T>>();
+            Node<T> prev = levelHead;
+            for (int index = 0; index < data.size(); index++) {
+                if (heights.get(index) >= level) {
+                    Node<T> node = new Node<T>(data.get(index), level);
+                    node.setPrev(prev);
+                    prev.setNext(node);
+                    if (below != null) {
+                        node.setDown(below.get(index));
+                        below.get(index).setUp(node);
+                    }
+                    prev = node;
+                    nodes.add(node);
+                } else {
+                    nodes.add(null);
+                }
+            }
+            below = nodes;
+        }
+        return levelHead;
+    }
 }
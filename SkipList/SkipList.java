@@ -1,14 +1,48 @@
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
+/**
+ * A skip list of four-way linked Nodes.
+ *
+ * Every link also has a span: the number of bottom level steps it skips.
+ * Adding up the spans on the way down gives the position of an item, so
+ * getAt(index), rank(data) and removeAt(index) take O(log n) like a
+ * search does.
+ *
+ * @version 1.0
+ */
 public class SkipList<T extends Comparable<? super T>>
-    implements SkipListInterface<T> {
-    // Do not add any additional instance variables
-    private CoinFlipper coinFlipper;
+    implements SkipListInterface<T>, Iterable<T> {
+    private LevelGenerator levelGenerator;
     private int size;
     private Node<T> head;
 
+    /**
+     * The head of the bottom level, which never changes until clear()
+     */
+    private Node<T> bottom;
+
+    /**
+     * The last node of the bottom level, bottom if the list is empty
+     */
+    private Node<T> tail;
+
+    /**
+     * Whether searches are counted, and what they have cost so far
+     */
+    private boolean metricsEnabled;
+    private long finds;
+    private long horizontalSteps;
+    private long verticalSteps;
+
     /**
      * Constructs a SkipList object that stores data in ascending order.
      * When an item is inserted, the flipper is called until it returns a tails.
@@ -18,20 +52,216 @@ public class SkipList<T extends Comparable<? super T>>
      * @param coinFlipper the source of randomness
      */
     public SkipList(CoinFlipper coinFlipper) {
-        head = new Node<T>(null, 1);
-        size = 0;
-        this.coinFlipper = coinFlipper;
+        this(new LevelGenerator(coinFlipper));
+    }
+
+    /**
+     * Constructs a SkipList object that stores data in ascending order,
+     * where the generator picks how many levels each item gets.
+     *
+     * @param levelGenerator the source of the levels
+     */
+    public SkipList(LevelGenerator levelGenerator) {
+        clear();
+        this.levelGenerator = levelGenerator;
+    }
+
+    /**
+     * Constructs a SkipList object that stores data in ascending order,
+     * where each item gets one more level with probability 1/2.
+     */
+    public SkipList() {
+        this(new LevelGenerator());
     }
 
     @Override
     public void put(T data) {
         checkIllegalArgument(data);
-        put(find(head, data), data);
+        put(find(data), data);
+    }
+
+    /**
+     * Creates a skip list with the data in the collection, where the
+     * generator picks how many levels each item gets. If the collection
+     * iterates in ascending order, every level is linked left to right in
+     * one pass in O(n); equal data replace each other, as with put.
+     * Otherwise the data is added with putAll.
+     *
+     * @param data the data to add to the skip list
+     * @param levelGenerator the source of the levels
+     * @param <T> the type of the data
+     * @throws IllegalArgumentException if data or any element in data is
+     * null
+     * @return the new skip list
+     */
+    public static <T extends Comparable<? super T>> SkipList<T> fromSorted(
+            Collection<T> data, LevelGenerator levelGenerator) {
+        SkipList<T> list = new SkipList<T>(levelGenerator);
+        list.build(data, false);
+        return list;
+    }
+
+    /**
+     * Creates a skip list with the data in the collection, like
+     * fromSorted(data, levelGenerator), but with the levels of a perfectly
+     * balanced skip list: the i-th item (from 1) gets one more level than
+     * the number of times 2 divides i, so every level has half the items
+     * of the one below. Items put later get levels from a new
+     * LevelGenerator.
+     *
+     * @param data the data to add to the skip list
+     * @param <T> the type of the data
+     * @throws IllegalArgumentException if data or any element in data is
+     * null
+     * @return the new skip list
+     */
+    public static <T extends Comparable<? super T>> SkipList<T> fromSorted(
+            Collection<T> data) {
+        SkipList<T> list = new SkipList<T>();
+        list.build(data, true);
+        return list;
+    }
+
+    /**
+     * A private helper method that fills the empty skip list with sorted
+     * data one item at a time, linking each new node after the last node
+     * of its level
+     * @param data the data to add
+     * @param balanced true for the levels of a perfectly balanced skip
+     *                 list, false for levels from the generator
+     * @throws IllegalArgumentException if data or any element in data is
+     * null
+     */
+    private void build(Collection<T> data, boolean balanced) {
+        List<T> sorted = checkedList(data);
+        for (int index = 1; index < sorted.size(); index++) {
+            if (sorted.get(index - 1).compareTo(sorted.get(index)) > 0) {
+                putAll(data);
+                return;
+            }
+        }
+        // the last node of each level and its position, from the bottom
+        List<Node<T>> lasts = new ArrayList<Node<T>>();
+        List<Integer> positions = new ArrayList<Integer>();
+        lasts.add(bottom);
+        positions.add(0);
+        for (T item : sorted) {
+            if (size > 0 && tail.getData().compareTo(item) == 0) {
+                for (Node<T> node = tail; node != null; node = node.getUp()) {
+                    node.setData(item);
+                }
+                continue;
+            }
+            size++;
+            int height = balanced ? 1 + Integer.numberOfTrailingZeros(size)
+                    : levelGenerator.nextLevel();
+            Node<T> below = null;
+            for (int level = 1; level <= height; level++) {
+                if (level > lasts.size()) {
+                    head.setUp(new Node<T>(null, level));
+                    head.getUp().setDown(head);
+                    head = head.getUp();
+                    lasts.add(head);
+                    positions.add(0);
+                }
+                Node<T> node = new Node<T>(item, level);
+                Node<T> last = lasts.get(level - 1);
+                last.setNext(node);
+                last.setSpan(size - positions.get(level - 1));
+                node.setPrev(last);
+                if (below != null) {
+                    below.setUp(node);
+                    node.setDown(below);
+                }
+                lasts.set(level - 1, node);
+                positions.set(level - 1, size);
+                below = node;
+            }
+            tail = lasts.get(0);
+        }
+    }
+
+    /**
+     * Puts every item of the collection. The items are sorted first, and
+     * each search starts from where the previous item went instead of from
+     * the head: it climbs only as high as it has to to pass the items in
+     * between, so a batch of keys that are close together costs much less
+     * than searching for each of them from the top.
+     *
+     * @param data the data to put
+     * @throws IllegalArgumentException if data or any element in data is
+     * null
+     */
+    public void putAll(Collection<T> data) {
+        List<T> sorted = checkedList(data);
+        Collections.sort(sorted);
+        Node<T> finger = bottom;
+        for (T current : sorted) {
+            finger = putFrom(finger, current);
+        }
+    }
+
+    /**
+     * A private helper method that puts data no less than the data of a
+     * bottom node, searching from that node
+     * @param finger a bottom node before the data, or the bottom head
+     * @param data the data to be put
+     * @return the bottom node right before the data, a finger for the next
+     * data that is no less than this one
+     */
+    private Node<T> putFrom(Node<T> finger, T data) {
+        Node<T> current = finger;
+        int right = 0;
+        int vertical = 0;
+        while (current.getNext() != null
+                && current.getNext().getData().compareTo(data) < 0) {
+            if (current.getUp() != null) {
+                current = current.getUp();
+                vertical++;
+            } else {
+                current = current.getNext();
+                right++;
+            }
+        }
+        while (current.getDown() != null) {
+            current = current.getDown();
+            vertical++;
+            while (current.getNext() != null
+                    && current.getNext().getData().compareTo(data) < 0) {
+                current = current.getNext();
+                right++;
+            }
+        }
+        count(right, vertical);
+        put(current, data);
+        return current;
+    }
+
+    /**
+     * A private helper method that copies a collection into a list,
+     * checking it and its elements
+     * @param data the collection
+     * @throws IllegalArgumentException if data or any element in data is
+     * null
+     * @return the elements of the collection
+     */
+    private List<T> checkedList(Collection<T> data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Illegal Argument Exception");
+        }
+        List<T> list = new ArrayList<T>(data);
+        for (T current : list) {
+            if (current == null) {
+                throw new IllegalArgumentException(
+                        "Illegal Argument Exception");
+            }
+        }
+        return list;
     }
 
     /**
-     * A recursive helper method that traverse the skip list
-     * to find the appropriate spot to put the data
+     * A private helper method that puts the data after the node found
+     * for it, or replaces the data if it is already there
      * @param thisNode the node that is currently looked at
      * @param data the data to be put
      */
@@ -55,36 +285,56 @@ public class SkipList<T extends Comparable<? super T>>
     }
 
     /**
-     * A recursive private helper method that finds the
-     * appropriate node where the data is found or the
-     * data should be put at
-     * @param current the current node that is looked at
+     * A private helper method that finds the node where the data is found
+     * or the data should be put at, moving right while the next node is
+     * smaller and down otherwise
      * @param data the data that is being compared
-     * @return the node where the data is found or
-     * the data should be put at
+     * @return the last node on the bottom level before the data
      */
-    private Node<T> find(Node<T> current, T data) {
-        if (current.getNext() != null) {
-            if (current.getNext().getData().compareTo(data) < 0) {
-                return find(current.getNext(), data);
-            } else {
-                return down(current, data);
+    private Node<T> find(T data) {
+        return find(data, true);
+    }
+
+    /**
+     * A private helper method that finds the last node on the bottom level
+     * before the data, like find(data)
+     * @param data the data that is being compared
+     * @param counted false to leave the search out of the metrics
+     * @return the last node on the bottom level before the data
+     */
+    private Node<T> find(T data, boolean counted) {
+        Node<T> current = head;
+        int right = 0;
+        int down = 0;
+        while (true) {
+            Node<T> next = current.getNext();
+            while (next != null && next.getData().compareTo(data) < 0) {
+                current = next;
+                next = current.getNext();
+                right++;
             }
-        } else {
-            return down(current, data);
+            if (current.getDown() == null) {
+                if (counted) {
+                    count(right, down);
+                }
+                return current;
+            }
+            current = current.getDown();
+            down++;
         }
     }
 
     /**
-     * A recursive private helper method of find(current, data)
-     * that traverse the skip list downward when necessary
-     * @param current the node needed to be traversed
-     * @param data the data to be compared
-     * @return the node to be found
+     * A private helper method that counts a search if metrics are enabled
+     * @param right the steps right the search made
+     * @param vertical the steps up and down the search made
      */
-    private Node<T> down(Node<T> current, T data) {
-        return (current.getDown() != null)
-                ? find(current.getDown(), data) : current;
+    private void count(int right, int vertical) {
+        if (metricsEnabled) {
+            finds++;
+            horizontalSteps += right;
+            verticalSteps += vertical;
+        }
     }
 
     /**
@@ -103,6 +353,11 @@ public class SkipList<T extends Comparable<? super T>>
         }
         current.setNext(newNode);
         newNode.setPrev(current);
+        current.setSpan(1);
+        newNode.setSpan(1);
+        if (tail == current) {
+            tail = newNode;
+        }
 
         buildUp(newNode);
     }
@@ -113,7 +368,7 @@ public class SkipList<T extends Comparable<? super T>>
      * @param current the node to be built up
      */
     private void buildUp(Node<T> current) {
-        while (coinFlipper.flipCoin() == CoinFlipper.Coin.HEADS) {
+        for (int level = levelGenerator.nextLevel(); level > 1; level--) {
             // make a new node on top of the current node
             current.setUp(new Node<T>(current.getData(),
                     current.getLevel() + 1));
@@ -121,6 +376,7 @@ public class SkipList<T extends Comparable<? super T>>
             checkNeighbor(current.getUp());
             current = current.getUp();
         }
+        addToSpansAbove(current, 1);
     }
 
     /**
@@ -134,14 +390,21 @@ public class SkipList<T extends Comparable<? super T>>
     private void checkNeighbor(Node<T> current) {
         Node<T> pointer = current.getDown();
         boolean foundPrev = false;
+        // bottom level steps from pointer to the node below current
+        int distance = 0;
         while (pointer.getPrev() != null && !foundPrev) {
+            distance += pointer.getPrev().getSpan();
             if (pointer.getPrev().getUp() != null) {
-                current.setPrev(pointer.getPrev().getUp());
-                current.setNext(pointer.getPrev().getUp().getNext());
-                pointer.getPrev().getUp().setNext(current);
+                Node<T> prev = pointer.getPrev().getUp();
+                current.setPrev(prev);
+                current.setNext(prev.getNext());
+                prev.setNext(current);
                 if (current.getNext() != null) {
                     current.getNext().setPrev(current);
+                    // prev's span does not count current yet
+                    current.setSpan(prev.getSpan() + 1 - distance);
                 }
+                prev.setSpan(distance);
                 foundPrev = true;
             } else {
                 pointer = pointer.getPrev();
@@ -151,57 +414,74 @@ public class SkipList<T extends Comparable<? super T>>
             pointer.setUp(new Node<T>(null, pointer.getLevel() + 1));
             pointer.getUp().setDown(pointer);
             pointer.getUp().setNext(current);
+            pointer.getUp().setSpan(distance);
             current.setPrev(pointer.getUp());
             head = pointer.getUp();
         }
     }
 
+    /**
+     * A private helper method that adds to the span of the link over an
+     * item on every level above the item's top node, walking left to find
+     * each link the way checkNeighbor does
+     * @param current the top node of the item
+     * @param delta 1 if the item was added, -1 if it is being removed
+     */
+    private void addToSpansAbove(Node<T> current, int delta) {
+        while (true) {
+            while (current.getUp() == null && current.getPrev() != null) {
+                current = current.getPrev();
+            }
+            if (current.getUp() == null) {
+                return;
+            }
+            current = current.getUp();
+            if (current.getNext() != null) {
+                current.setSpan(current.getSpan() + delta);
+            }
+        }
+    }
+
     @Override
     public T first() {
         if (isEmpty()) {
             nsee();
         }
-        return first(head).getData();
+        return bottom.getNext().getData();
     }
 
-    /**
-     * A private recursive helper method that finds the
-     * first data in the skip list
-     * @param current the node that is being looked at
-     * @return the first node in the skip list
-     */
-    private Node<T> first(Node<T> current) {
-        if (current.getDown() != null) {
-            return first(current.getDown());
-        } else {
-            return current.getNext();
+    @Override
+    public T last() {
+        if (isEmpty()) {
+            nsee();
         }
+        return tail.getData();
     }
 
-    @Override
-    public T last() {
+    /**
+     * Removes and returns the first item in the skip list with a running
+     * time of O(log n)
+     * @throws java.util.NoSuchElementException if the skip list is empty
+     * @return the first item in the skip list
+     */
+    public T pollFirst() {
         if (isEmpty()) {
             nsee();
         }
-        return last(head).getData();
+        return removeNode(bottom.getNext());
     }
 
     /**
-     * A private recursive helper method that finds the
-     * last data in the skip list
-     * @param current the node that is being looked at
-     * @return the last node in the skip list
+     * Removes and returns the last item in the skip list with a running
+     * time of O(log n)
+     * @throws java.util.NoSuchElementException if the skip list is empty
+     * @return the last item in the skip list
      */
-    private Node<T> last(Node<T> current) {
-        if (current.getNext() != null) {
-            return last(current.getNext());
-        } else {
-            if (current.getDown() != null) {
-                return last(current.getDown());
-            } else {
-                return current;
-            }
+    public T pollLast() {
+        if (isEmpty()) {
+            nsee();
         }
+        return removeNode(tail);
     }
 
     /**
@@ -235,82 +515,123 @@ public class SkipList<T extends Comparable<? super T>>
     @Override
     public T remove(T data) {
         checkIllegalArgument(data);
-        if (isEmpty()) {
+        Node<T> current = find(data).getNext();
+        if (current == null || current.getData().compareTo(data) != 0) {
             nsee();
         }
-        Node<T> current = find(head, data).getNext();
-        if (current.getData().compareTo(data) == 0) {
-            while (current.getUp() != null) {
-                current = current.getUp();
-            }
-            remove(current);
-            size--;
-        } else {
-            nsee();
+        return removeNode(current);
+    }
+
+    /**
+     * A private helper method that removes an item given its node on the
+     * bottom level
+     * @param current the bottom node of the item
+     * @return the data of the item
+     */
+    private T removeNode(Node<T> current) {
+        while (current.getUp() != null) {
+            current = current.getUp();
         }
+        addToSpansAbove(current, -1);
+        remove(current);
+        size--;
         return current.getData();
     }
 
     /**
-     * A private recursive method that removes a data
-     * from a skip list
-     * @param current the current node to be looked at
+     * A private method that removes a data from a skip list,
+     * from its top node down to its bottom node
+     * @param current the top node of the data
      */
     private void remove(Node<T> current) {
-        if (current.getPrev().getData() == null) {
-            if (current.getNext() == null) {
-                if (current.getPrev().getDown() != null) {
-                    head = current.getPrev().getDown();
-                    head.setUp(null);
+        while (current != null) {
+            if (current.getNext() != null) {
+                current.getPrev().setSpan(current.getPrev().getSpan()
+                        + current.getSpan() - 1);
+            }
+            if (current.getPrev().getData() == null) {
+                if (current.getNext() == null) {
+                    if (current.getPrev().getDown() != null) {
+                        head = current.getPrev().getDown();
+                        head.setUp(null);
+                    } else {
+                        // remove a size 1 skiplist
+                        head.setNext(null);
+                    }
                 } else {
-                    // remove a size 1 skiplist
-                    head.setNext(null);
+                    current.getNext().setPrev(current.getPrev());
+                    current.getPrev().setNext(current.getNext());
                 }
             } else {
-                current.getNext().setPrev(current.getPrev());
                 current.getPrev().setNext(current.getNext());
+                if (current.getNext() != null) {
+                    current.getNext().setPrev(current.getPrev());
+                }
             }
-        } else {
-            current.getPrev().setNext(current.getNext());
-            if (current.getNext() != null) {
-                current.getNext().setPrev(current.getPrev());
+            if (current == tail) {
+                tail = current.getPrev();
             }
-        }
-        if (current.getDown() != null) {
-            remove(current.getDown());
+            current = current.getDown();
         }
     }
 
     @Override
     public boolean contains(T data) {
         checkIllegalArgument(data);
-        if (isEmpty()) {
-            return false;
-        } else {
-            Node<T> toReturn = find(head, data);
-            if (toReturn.getNext() == null) {
-                return false;
-            } else {
-                return (toReturn.getNext().getData().compareTo(data) == 0);
-            }
-        }
+        Node<T> toReturn = find(data).getNext();
+        return toReturn != null && toReturn.getData().compareTo(data) == 0;
     }
 
     @Override
     public T get(T data) {
         checkIllegalArgument(data);
-        if (isEmpty()) {
+        Node<T> toReturn = find(data).getNext();
+        if (toReturn == null || toReturn.getData().compareTo(data) != 0) {
             nsee();
         }
-        Node<T> toReturn = find(head, data);
-        if (toReturn.getNext() == null) {
-            nsee();
-        } else {
-            if (toReturn.getNext().getData().compareTo(data) != 0) {
-                nsee();
+        return toReturn.getData();
+    }
+
+    /**
+     * Starts or stops counting the steps of every search that put, get,
+     * contains and remove make, and of the search for each item of putAll,
+     * whose steps up count with its steps down. The searches that subSet
+     * and tailSet start from are not counted. Counting is off by default;
+     * the counts so far are kept either way.
+     *
+     * @param enabled true to count the searches, false to stop
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        metricsEnabled = enabled;
+    }
+
+    /**
+     * Forgets the searches counted so far
+     */
+    public void resetMetrics() {
+        finds = 0;
+        horizontalSteps = 0;
+        verticalSteps = 0;
+    }
+
+    /**
+     * Measures the shape of the list, with a running time of O(n), and
+     * takes the search counts so far
+     *
+     * @return a snapshot of the metrics
+     */
+    public SkipListMetrics getMetrics() {
+        int[] histogram = new int[head.getLevel()];
+        for (Node<T> current = bottom.getNext(); current != null;
+                current = current.getNext()) {
+            int height = 1;
+            for (Node<T> up = current.getUp(); up != null; up = up.getUp()) {
+                height++;
             }
+            histogram[height - 1]++;
         }
-        return toReturn.getNext().getData();
+        return new SkipListMetrics(size, head.getLevel(), histogram, finds,
+                horizontalSteps, verticalSteps);
     }
 
     @Override
@@ -321,22 +642,22 @@ public class SkipList<T extends Comparable<? super T>>
     @Override
     public void clear() {
         head = new Node<T>(null, 1);
+        bottom = head;
+        tail = head;
         size = 0;
     }
 
+    /**
+     * The data of each item of the skip list, in ascending order.
+     * @return a set of all the data in the skip list
+     */
     @Override
     public Set<T> dataSet() {
-        HashSet<T> toReturn = new HashSet<T>();
-        if (isEmpty()) {
-            return toReturn;
+        Set<T> toReturn = new LinkedHashSet<T>();
+        for (Node<T> current = bottom.getNext(); current != null;
+                current = current.getNext()) {
+            toReturn.add(current.getData());
         }
-        Node<T> current = first(head);
-        do {
-            if (current.getData() != null) {
-                toReturn.add(current.getData());
-            }
-            current = current.getNext();
-        } while (current != null);
         return toReturn;
     }
 
@@ -344,4 +665,202 @@ public class SkipList<T extends Comparable<? super T>>
     public Node<T> getHead() {
         return head;
     }
+
+    /**
+     * Gets the item at the given position in ascending order with a
+     * running time of O(log n)
+     * @throws IndexOutOfBoundsException if index is negative or not less
+     * than the size
+     * @param index the number of items before the item
+     * @return the item at the index
+     */
+    public T getAt(int index) {
+        return nodeAt(index).getData();
+    }
+
+    /**
+     * Removes the item at the given position in ascending order with a
+     * running time of O(log n)
+     * @throws IndexOutOfBoundsException if index is negative or not less
+     * than the size
+     * @param index the number of items before the item
+     * @return the item removed
+     */
+    public T removeAt(int index) {
+        return removeNode(nodeAt(index));
+    }
+
+    /**
+     * Counts the items less than the given data with a running time of
+     * O(log n). If the data is in the list, it is the data's index, so
+     * getAt(rank(data)) returns it.
+     * @throws IllegalArgumentException if the data is null
+     * @param data the data to be compared
+     * @return the number of items less than the data
+     */
+    public int rank(T data) {
+        checkIllegalArgument(data);
+        Node<T> current = head;
+        int position = 0;
+        while (true) {
+            Node<T> next = current.getNext();
+            while (next != null && next.getData().compareTo(data) < 0) {
+                position += current.getSpan();
+                current = next;
+                next = current.getNext();
+            }
+            if (current.getDown() == null) {
+                return position;
+            }
+            current = current.getDown();
+        }
+    }
+
+    /**
+     * A private helper method that finds the item at a position by adding
+     * up the spans on the way down
+     * @throws IndexOutOfBoundsException if index is negative or not less
+     * than the size
+     * @param index the number of items before the item
+     * @return the bottom node of the item
+     */
+    private Node<T> nodeAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        Node<T> current = head;
+        // the head is at position 0 and the first item at position 1
+        int position = 0;
+        while (position != index + 1) {
+            while (current.getNext() != null
+                    && position + current.getSpan() <= index + 1) {
+                position += current.getSpan();
+                current = current.getNext();
+            }
+            if (position != index + 1) {
+                current = current.getDown();
+            }
+        }
+        while (current.getDown() != null) {
+            current = current.getDown();
+        }
+        return current;
+    }
+
+    /**
+     * Iterates over the data in ascending order along the bottom level.
+     * The skip list should not be modified while it is being iterated.
+     *
+     * @return an iterator over the data in ascending order
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new LevelIterator(bottom.getNext(), null, size);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size,
+                Spliterator.ORDERED | Spliterator.SORTED
+                        | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * Gets a lazy view of the data from lo (inclusive) to hi (exclusive)
+     * in ascending order. Getting the first k data takes O(log n + k).
+     * @throws IllegalArgumentException if lo or hi is null, or if lo is
+     * greater than hi
+     * @param lo the smallest data of the view
+     * @param hi the data right after the largest data of the view
+     * @return the data in [lo, hi)
+     */
+    public Iterable<T> subSet(T lo, T hi) {
+        checkIllegalArgument(lo);
+        checkIllegalArgument(hi);
+        if (lo.compareTo(hi) > 0) {
+            throw new IllegalArgumentException("Illegal Argument Exception");
+        }
+        return () -> new LevelIterator(find(lo, false).getNext(), hi,
+                size);
+    }
+
+    /**
+     * Gets a lazy view of the data less than hi in ascending order.
+     * @throws IllegalArgumentException if hi is null
+     * @param hi the data right after the largest data of the view
+     * @return the data less than hi
+     */
+    public Iterable<T> headSet(T hi) {
+        checkIllegalArgument(hi);
+        return () -> new LevelIterator(bottom.getNext(), hi, size);
+    }
+
+    /**
+     * Gets a lazy view of the data greater than or equal to lo in
+     * ascending order.
+     * @throws IllegalArgumentException if lo is null
+     * @param lo the smallest data of the view
+     * @return the data greater than or equal to lo
+     */
+    public Iterable<T> tailSet(T lo) {
+        checkIllegalArgument(lo);
+        return () -> new LevelIterator(find(lo, false).getNext(), null,
+                size);
+    }
+
+    /**
+     * Gets a lazy view of the items from position from (inclusive) to
+     * position to (exclusive) in ascending order, e.g. the top ten of a
+     * leaderboard. Getting the first k data takes O(log n + k).
+     * @throws IndexOutOfBoundsException if from is negative, to is greater
+     * than the size or from is greater than to
+     * @param from the index of the first item of the view
+     * @param to the index right after the last item of the view
+     * @return the items at indices [from, to)
+     */
+    public Iterable<T> subList(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException();
+        }
+        return () -> new LevelIterator((from == to) ? null : nodeAt(from),
+                null, to - from);
+    }
+
+    /**
+     * A lazy iterator along the bottom level up to a bound
+     */
+    private class LevelIterator implements Iterator<T> {
+        private Node<T> next;
+        private final T hi;
+        private int remaining;
+
+        /**
+         * Creates an iterator that starts at a bottom node
+         * @param next the first node to iterate, null if there is none
+         * @param hi the data to stop iterating at, null if there is none
+         * @param remaining the most items to iterate
+         */
+        private LevelIterator(Node<T> next, T hi, int remaining) {
+            this.next = next;
+            this.hi = hi;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null && remaining > 0
+                    && (hi == null || next.getData().compareTo(hi) < 0);
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                nsee();
+            }
+            T data = next.getData();
+            next = next.getNext();
+            remaining--;
+            return data;
+        }
+    }
 }
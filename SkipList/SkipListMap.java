@@ -0,0 +1,374 @@
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A map sorted by key, stored in a skip list
+ *
+ * Each entry is one tower of a TowerList, as in TowerSkipList: its key,
+ * its value and its next tower on each of its levels, found and linked by
+ * the same searches. The bottom level also links back
+ * with a prev pointer, so the entries can be walked in either direction.
+ * The range iterators find where to start in O(log n) and then walk the
+ * bottom level one entry per step, without copying anything; the entries
+ * they return are the towers themselves, so setValue on them writes
+ * through to the map.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @version 1.0
+ */
+public class SkipListMap<K extends Comparable<? super K>, V>
+    implements Iterable<Map.Entry<K, V>> {
+
+    private LevelGenerator levelGenerator;
+    private final TowerList<K, Tower<K, V>> towers =
+            new TowerList<K, Tower<K, V>>(new Tower<K, V>(null, null, 1));
+
+    /**
+     * Constructs an empty map where each entry gets one more level with
+     * probability 1/2
+     */
+    public SkipListMap() {
+        this(new LevelGenerator());
+    }
+
+    /**
+     * Constructs an empty map where the generator picks how many levels
+     * each entry gets
+     *
+     * @param levelGenerator the source of the levels
+     */
+    public SkipListMap(LevelGenerator levelGenerator) {
+        this.levelGenerator = levelGenerator;
+    }
+
+    /**
+     * Adds the key with the value, or replaces the value of the key if it
+     * is already in the map, with a running time of O(log n)
+     *
+     * @param key the key to add
+     * @param value the value of the key
+     * @throws IllegalArgumentException if key or value is null
+     * @return null if the key was not already in the map, otherwise the
+     * value it had
+     */
+    public V put(K key, V value) {
+        checkIllegalArgument(key);
+        checkIllegalArgument(value);
+        Tower<K, V> found = towers.findPreds(key);
+        if (found != null) {
+            return found.setValue(value);
+        }
+        Tower<K, V> added =
+                new Tower<K, V>(key, value, levelGenerator.nextLevel());
+        added.prev = towers.link(added);
+        if (added.next[0] != null) {
+            added.next[0].prev = added;
+        }
+        return null;
+    }
+
+    /**
+     * Removes the key and its value with a running time of O(log n)
+     *
+     * @param key the key to remove
+     * @throws IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     * @return the value the key had
+     */
+    public V remove(K key) {
+        checkIllegalArgument(key);
+        Tower<K, V> found = towers.findPreds(key);
+        if (found == null) {
+            throw new NoSuchElementException("No Such Element!");
+        }
+        towers.unlink(found);
+        if (found.next[0] != null) {
+            found.next[0].prev = found.prev;
+        }
+        return found.value;
+    }
+
+    /**
+     * Gets the value of the key with a running time of O(log n)
+     *
+     * @param key the key to search for
+     * @throws IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     * @return the value of the key
+     */
+    public V get(K key) {
+        checkIllegalArgument(key);
+        Tower<K, V> found = towers.find(key);
+        if (found == null) {
+            throw new NoSuchElementException("No Such Element!");
+        }
+        return found.value;
+    }
+
+    /**
+     * Checks if the key is in the map with a running time of O(log n)
+     *
+     * @param key the key to search for
+     * @throws IllegalArgumentException if key is null
+     * @return whether or not the key is in the map
+     */
+    public boolean containsKey(K key) {
+        checkIllegalArgument(key);
+        return towers.find(key) != null;
+    }
+
+    /**
+     * Finds the entry with the largest key less than or equal to the key
+     * with a running time of O(log n)
+     *
+     * @param key the key to compare to
+     * @throws IllegalArgumentException if key is null
+     * @return a copy of the entry, null if there is none
+     */
+    public Map.Entry<K, V> floorEntry(K key) {
+        checkIllegalArgument(key);
+        return copyOf(towers.before(key, false));
+    }
+
+    /**
+     * Finds the entry with the smallest key greater than or equal to the
+     * key with a running time of O(log n)
+     *
+     * @param key the key to compare to
+     * @throws IllegalArgumentException if key is null
+     * @return a copy of the entry, null if there is none
+     */
+    public Map.Entry<K, V> ceilingEntry(K key) {
+        checkIllegalArgument(key);
+        return copyOf(towers.before(key, true).next[0]);
+    }
+
+    /**
+     * Private helper method that copies an entry so that it does not
+     * change with the map
+     * @param tower the tower of the entry
+     * @return the copy, null if the tower is null or the head
+     */
+    private Map.Entry<K, V> copyOf(Tower<K, V> tower) {
+        return (tower == null || tower == towers.head()) ? null
+                : new AbstractMap.SimpleImmutableEntry<K, V>(tower.key,
+                        tower.value);
+    }
+
+    /**
+     * Private helper method that checks if a key or value is null
+     * @param data the key or value
+     * @throws IllegalArgumentException if data is null
+     */
+    private void checkIllegalArgument(Object data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Illegal Argument Exception");
+        }
+    }
+
+    /**
+     * Gets the number of entries in the map
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return towers.size();
+    }
+
+    /**
+     * Removes every entry from the map
+     */
+    public void clear() {
+        towers.clear(new Tower<K, V>(null, null, 1));
+    }
+
+    /**
+     * Iterates over the entries in ascending key order. The map should not
+     * be modified while it is being iterated, except through setValue.
+     *
+     * @return an iterator over the entries in ascending key order
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new EntryIterator(towers.head().next[0], null, true);
+    }
+
+    /**
+     * Gets a lazy view of the entries with keys from lo (inclusive) to hi
+     * (exclusive) in ascending key order. Getting the first k entries
+     * takes O(log n + k).
+     *
+     * @param lo the smallest key of the view
+     * @param hi the key right after the largest key of the view
+     * @throws IllegalArgumentException if lo or hi is null, or if lo is
+     * greater than hi
+     * @return the entries with keys in [lo, hi)
+     */
+    public Iterable<Map.Entry<K, V>> ascendingEntries(K lo, K hi) {
+        checkRange(lo, hi);
+        return () -> new EntryIterator(
+                towers.before(lo, true).next[0], hi, true);
+    }
+
+    /**
+     * Gets a lazy view of all the entries in descending key order.
+     * Getting the first k entries takes O(log n + k).
+     *
+     * @return the entries from the largest key down
+     */
+    public Iterable<Map.Entry<K, V>> descendingEntries() {
+        return () -> new EntryIterator(towers.last(), null, false);
+    }
+
+    /**
+     * Gets a lazy view of the entries with keys from lo (inclusive) to hi
+     * (exclusive) in descending key order. Getting the first k entries
+     * takes O(log n + k).
+     *
+     * @param lo the smallest key of the view
+     * @param hi the key right after the largest key of the view
+     * @throws IllegalArgumentException if lo or hi is null, or if lo is
+     * greater than hi
+     * @return the entries with keys in [lo, hi), from the largest down
+     */
+    public Iterable<Map.Entry<K, V>> descendingEntries(K lo, K hi) {
+        checkRange(lo, hi);
+        return () -> new EntryIterator(towers.before(hi, true), lo,
+                false);
+    }
+
+    /**
+     * Private helper method that checks the bounds of a range
+     * @param lo the smallest key of the range
+     * @param hi the key right after the largest key of the range
+     * @throws IllegalArgumentException if lo or hi is null, or if lo is
+     * greater than hi
+     */
+    private void checkRange(K lo, K hi) {
+        checkIllegalArgument(lo);
+        checkIllegalArgument(hi);
+        if (lo.compareTo(hi) > 0) {
+            throw new IllegalArgumentException("Illegal Argument Exception");
+        }
+    }
+
+    /**
+     * A lazy iterator along the bottom level in either direction
+     */
+    private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private Tower<K, V> next;
+        private final K bound;
+        private final boolean ascending;
+
+        /**
+         * Creates an iterator that starts at a tower
+         * @param next the first tower to iterate, the head or null if there
+         *             is none
+         * @param bound ascending, the key to stop at; descending, the
+         *              smallest key to iterate; null if there is none
+         * @param ascending the direction to iterate in
+         */
+        private EntryIterator(Tower<K, V> next, K bound, boolean ascending) {
+            this.next = (next == towers.head()) ? null : next;
+            this.bound = bound;
+            this.ascending = ascending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                return false;
+            } else if (bound == null) {
+                return true;
+            }
+            int compared = next.key.compareTo(bound);
+            return ascending ? compared < 0 : compared >= 0;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No Such Element!");
+            }
+            Tower<K, V> current = next;
+            next = ascending ? current.next[0] : current.prev;
+            if (next == towers.head()) {
+                next = null;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * One entry of the map with its next tower on each of its levels and
+     * its previous tower on the bottom level
+     */
+    private static final class Tower<K, V>
+            extends TowerList.Tower<K, Tower<K, V>> implements Map.Entry<K, V> {
+        private V value;
+        private Tower<K, V> prev;
+
+        /**
+         * Makes a tower with no neighbors
+         * @param key the key of the entry, null for the head
+         * @param value the value of the entry
+         * @param height the number of levels of the tower
+         */
+        @SuppressWarnings("unchecked")
+        private Tower(K key, V value, int height) {
+            super(key, (Tower<K, V>[]) new Tower<?, ?>[height]);
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        /**
+         * Replaces the value of the entry in the map
+         * @param value the new value
+         * @throws IllegalArgumentException if value is null
+         * @return the old value
+         */
+        @Override
+        public V setValue(V value) {
+            if (value == null) {
+                throw new IllegalArgumentException(
+                        "Illegal Argument Exception");
+            }
+            V old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) other;
+            return Objects.equals(key, entry.getKey())
+                    && Objects.equals(value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+}
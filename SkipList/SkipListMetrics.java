@@ -0,0 +1,152 @@
+import java.util.Arrays;
+
+/**
+ * The shape of a SkipList and what its searches cost, at one point in time
+ *
+ * The level histogram shows whether the levels are as random as they
+ * should be: with probability p of one more level, about a fraction p of
+ * the items on each level reach the next one, which is what
+ * getEstimatedP() measures. The average steps per search show what that
+ * shape costs. A search makes about log(n) / log(1 / p) steps down and
+ * 1 / p steps right per level; a list that is too flat or too tall for its
+ * size shows up as many more steps right or down.
+ *
+ * @version 1.0
+ */
+public class SkipListMetrics {
+
+    /**
+     * The estimated size of one Node on a 64-bit JVM with compressed
+     * references: a 12 byte header, five references and two ints
+     */
+    public static final int NODE_BYTES = 40;
+
+    private final int size;
+    private final int headHeight;
+    private final int[] levelHistogram;
+    private final long nodes;
+    private final long finds;
+    private final long horizontalSteps;
+    private final long verticalSteps;
+
+    /**
+     * Makes a snapshot of the metrics
+     *
+     * @param size the number of items
+     * @param headHeight the number of levels of the head
+     * @param levelHistogram the number of items with each number of
+     *                       levels, from 1
+     * @param finds the number of searches counted
+     * @param horizontalSteps the steps right those searches made
+     * @param verticalSteps the steps down those searches made
+     */
+    SkipListMetrics(int size, int headHeight, int[] levelHistogram,
+            long finds, long horizontalSteps, long verticalSteps) {
+        this.size = size;
+        this.headHeight = headHeight;
+        this.levelHistogram = levelHistogram;
+        long total = 0;
+        for (int level = 0; level < levelHistogram.length; level++) {
+            total += (long) (level + 1) * levelHistogram[level];
+        }
+        this.nodes = total;
+        this.finds = finds;
+        this.horizontalSteps = horizontalSteps;
+        this.verticalSteps = verticalSteps;
+    }
+
+    /**
+     * Gets the number of items
+     *
+     * @return the size of the list
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of levels of the head, which is as many as the
+     * current tallest item has
+     *
+     * @return the height of the head
+     */
+    public int getHeadHeight() {
+        return headHeight;
+    }
+
+    /**
+     * Gets how many items have each number of levels. Element k is the
+     * number of items with exactly k + 1 levels.
+     *
+     * @return a copy of the histogram
+     */
+    public int[] getLevelHistogram() {
+        return Arrays.copyOf(levelHistogram, levelHistogram.length);
+    }
+
+    /**
+     * Gets the number of nodes of the items, not counting the head
+     *
+     * @return the number of nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the fraction of nodes that have a node above them, which should
+     * be close to the p the levels were drawn with
+     *
+     * @return the estimated p, 0 if the list is empty
+     */
+    public double getEstimatedP() {
+        return (nodes == 0) ? 0 : (double) (nodes - size) / nodes;
+    }
+
+    /**
+     * Gets the number of searches counted while metrics were enabled
+     *
+     * @return the number of searches
+     */
+    public long getFinds() {
+        return finds;
+    }
+
+    /**
+     * Gets the average number of steps right per search
+     *
+     * @return the average, 0 if there were no searches
+     */
+    public double getAverageHorizontalSteps() {
+        return (finds == 0) ? 0 : (double) horizontalSteps / finds;
+    }
+
+    /**
+     * Gets the average number of steps down per search
+     *
+     * @return the average, 0 if there were no searches
+     */
+    public double getAverageVerticalSteps() {
+        return (finds == 0) ? 0 : (double) verticalSteps / finds;
+    }
+
+    /**
+     * Gets an estimate of the memory the nodes use, the head included and
+     * the data not
+     *
+     * @return the estimated bytes
+     */
+    public long getEstimatedBytes() {
+        return (nodes + headHeight) * NODE_BYTES;
+    }
+
+    @Override
+    public String toString() {
+        return "size=" + size + ", headHeight=" + headHeight
+                + ", levelHistogram=" + Arrays.toString(levelHistogram)
+                + ", estimatedP=" + getEstimatedP() + ", finds=" + finds
+                + ", averageHorizontalSteps=" + getAverageHorizontalSteps()
+                + ", averageVerticalSteps=" + getAverageVerticalSteps()
+                + ", estimatedBytes=" + getEstimatedBytes();
+    }
+}
@@ -1,7 +1,23 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -116,4 +132,740 @@ public class SkipListStudentTest {
         assertEquals(0, list.size());
 
     }
-}
\ No newline at end of file
+
+    @Test(timeout = 10000)
+    public void testConcurrentMatchesSequential() throws Exception {
+        int threads = 4;
+        ConcurrentSkipList<Integer> shared =
+                new ConcurrentSkipList<Integer>(randomness);
+        List<SkipList<Integer>> models = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> failures =
+                Collections.synchronizedList(new ArrayList<>());
+        for (int t = 0; t < threads; t++) {
+            // each thread owns the keys equal to t mod threads, so each of
+            // its results must be what a sequential SkipList gives
+            int id = t;
+            SkipList<Integer> model =
+                    new SkipList<Integer>(new CoinFlipper(new Random(t)));
+            models.add(model);
+            workers.add(new Thread(() -> {
+                Random rand = new Random(id);
+                try {
+                    for (int i = 0; i < 50000; i++) {
+                        Integer key = rand.nextInt(500) * threads + id;
+                        int op = rand.nextInt(3);
+                        if (op == 0) {
+                            shared.put(key);
+                            model.put(key);
+                        } else if (op == 1) {
+                            boolean present = model.contains(key);
+                            assertEquals(present, shared.contains(key));
+                            if (present) {
+                                assertEquals(model.remove(key),
+                                        shared.remove(key));
+                            } else {
+                                try {
+                                    shared.remove(key);
+                                    fail("removed " + key + " twice");
+                                } catch (NoSuchElementException e) {
+                                    // expected
+                                }
+                            }
+                        } else {
+                            assertEquals(model.contains(key),
+                                    shared.contains(key));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(Collections.emptyList(), failures);
+
+        Set<Integer> expected = new TreeSet<>();
+        for (SkipList<Integer> model : models) {
+            expected.addAll(model.dataSet());
+        }
+        assertEquals(expected.size(), shared.size());
+        assertEquals(new ArrayList<>(expected),
+                new ArrayList<>(shared.dataSet()));
+        assertEquals(((TreeSet<Integer>) expected).first(), shared.first());
+        assertEquals(((TreeSet<Integer>) expected).last(), shared.last());
+    }
+
+    @Test(timeout = 20000)
+    public void testConcurrentContendedKeysMatchHistory() throws Exception {
+        int threads = 4;
+        int keys = 8;
+        int ops = 100000;
+        ConcurrentSkipList<Integer> shared =
+                new ConcurrentSkipList<Integer>(new LevelGenerator());
+        // what each thread did to which key, and when it started and ended
+        int[][] keyOf = new int[threads][ops];
+        boolean[][] isPut = new boolean[threads][ops];
+        long[][] start = new long[threads][ops];
+        long[][] end = new long[threads][ops];
+        List<List<Integer>> putBy = new ArrayList<>();
+        List<List<Integer>> removedBy = new ArrayList<>();
+        List<Throwable> failures =
+                Collections.synchronizedList(new ArrayList<>());
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            List<Integer> put = new ArrayList<>();
+            List<Integer> removed = new ArrayList<>();
+            putBy.add(put);
+            removedBy.add(removed);
+            workers.add(new Thread(() -> {
+                Random rand = new Random(id);
+                try {
+                    for (int i = 0; i < ops; i++) {
+                        // every thread races on the same few keys, each put
+                        // with an instance of its own
+                        Integer key = new Integer(rand.nextInt(keys));
+                        keyOf[id][i] = key;
+                        isPut[id][i] = rand.nextBoolean();
+                        start[id][i] = System.nanoTime();
+                        if (isPut[id][i]) {
+                            shared.put(key);
+                            put.add(key);
+                        } else {
+                            try {
+                                removed.add(shared.remove(key));
+                            } catch (NoSuchElementException e) {
+                                // it was not there
+                            }
+                        }
+                        end[id][i] = System.nanoTime();
+                        shared.contains(key);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(Collections.emptyList(), failures);
+
+        // every instance removed was put, and is removed only once
+        Map<Integer, Boolean> wasPut = new IdentityHashMap<>();
+        putBy.forEach(put -> put.forEach(key -> wasPut.put(key, true)));
+        Map<Integer, Boolean> wasRemoved = new IdentityHashMap<>();
+        for (List<Integer> removed : removedBy) {
+            for (Integer key : removed) {
+                assertTrue(wasPut.containsKey(key));
+                assertNull(wasRemoved.put(key, true));
+            }
+        }
+
+        int decided = 0;
+        Set<Integer> present = new TreeSet<>();
+        for (int key = 0; key < keys; key++) {
+            if (shared.contains(key)) {
+                present.add(key);
+                Integer instance = shared.get(key);
+                assertTrue(wasPut.containsKey(instance));
+                assertFalse(wasRemoved.containsKey(instance));
+            }
+            // an operation can be the last one on the key only if it ended
+            // after every other one on the key started
+            long latest = Long.MIN_VALUE;
+            long secondLatest = Long.MIN_VALUE;
+            for (int t = 0; t < threads; t++) {
+                for (int i = 0; i < ops; i++) {
+                    if (keyOf[t][i] == key && start[t][i] > latest) {
+                        secondLatest = latest;
+                        latest = start[t][i];
+                    } else if (keyOf[t][i] == key
+                            && start[t][i] > secondLatest) {
+                        secondLatest = start[t][i];
+                    }
+                }
+            }
+            boolean lastCanBePut = false;
+            boolean lastCanBeRemove = false;
+            for (int t = 0; t < threads; t++) {
+                for (int i = 0; i < ops; i++) {
+                    long others = (start[t][i] == latest)
+                            ? secondLatest : latest;
+                    if (keyOf[t][i] == key && end[t][i] >= others) {
+                        lastCanBePut |= isPut[t][i];
+                        lastCanBeRemove |= !isPut[t][i];
+                    }
+                }
+            }
+            if (lastCanBePut != lastCanBeRemove) {
+                assertEquals("key " + key, lastCanBePut,
+                        present.contains(key));
+                decided++;
+            }
+        }
+        assertTrue(decided > 0);
+        assertEquals(present.size(), shared.size());
+        assertEquals(shared.size(), shared.dataSet().size());
+        assertEquals(new ArrayList<>(present),
+                new ArrayList<>(shared.dataSet()));
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentRemoveExactlyOnce() throws Exception {
+        int threads = 4;
+        int count = 20000;
+        ConcurrentSkipList<Integer> shared =
+                new ConcurrentSkipList<Integer>(randomness);
+        Integer[] originals = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            originals[i] = new Integer(i);
+            shared.put(originals[i]);
+        }
+        AtomicInteger removed = new AtomicInteger();
+        List<Throwable> failures =
+                Collections.synchronizedList(new ArrayList<>());
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers.add(new Thread(() -> {
+                List<Integer> order = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    order.add(i);
+                }
+                Collections.shuffle(order, new Random(id));
+                try {
+                    for (Integer key : order) {
+                        try {
+                            // the instance that was put, not the argument
+                            assertSame(originals[key], shared.remove(key));
+                            removed.incrementAndGet();
+                        } catch (NoSuchElementException e) {
+                            // another thread removed it first
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(Collections.emptyList(), failures);
+        assertEquals(count, removed.get());
+        assertEquals(0, shared.size());
+        assertTrue(shared.dataSet().isEmpty());
+        assertNull(shared.getHead().getNext());
+    }
+
+    @Test(timeout = 2000)
+    public void testTowerMatchesSkipList() {
+        SkipList<Integer> expected =
+                new SkipList<Integer>(new CoinFlipper(new Random(10)));
+        list = new TowerSkipList<Integer>(new CoinFlipper(new Random(10)));
+        Random rand = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            Integer key = rand.nextInt(200);
+            if (rand.nextInt(3) > 0) {
+                expected.put(key);
+                list.put(key);
+            } else if (expected.contains(key)) {
+                assertEquals(expected.remove(key), list.remove(key));
+            } else {
+                assertFalse(list.contains(key));
+            }
+        }
+        assertEquals(expected.size(), list.size());
+        assertEquals(expected.first(), list.first());
+        assertEquals(expected.last(), list.last());
+        assertEquals(new TreeSet<>(expected.dataSet()),
+                new TreeSet<>(list.dataSet()));
+
+        // same flips, so every level holds the same items
+        Node<Integer> expectedLevel = expected.getHead();
+        Node<Integer> level = list.getHead();
+        while (expectedLevel != null) {
+            assertEquals(expectedLevel.getLevel(), level.getLevel());
+            Node<Integer> expectedNode = expectedLevel.getNext();
+            Node<Integer> node = level.getNext();
+            while (expectedNode != null) {
+                assertEquals(expectedNode.getData(), node.getData());
+                expectedNode = expectedNode.getNext();
+                node = node.getNext();
+            }
+            assertNull(node);
+            expectedLevel = expectedLevel.getDown();
+            level = level.getDown();
+        }
+        assertNull(level);
+
+        while (list.size() > 0) {
+            list.remove(list.first());
+        }
+        assertNull(list.getHead().getNext());
+        assertNull(list.getHead().getDown());
+    }
+
+    @Test(timeout = 2000)
+    public void testOneLevelListDoesNotOverflowTheStack() {
+        // always tails: a single level, as long as the list
+        SkipList<Integer> flat = new SkipList<Integer>(
+                new CoinFlipper(new Random() {
+                    @Override
+                    public boolean nextBoolean() {
+                        return false;
+                    }
+                }));
+        int count = 100000;
+        for (int i = count - 1; i >= 0; i--) {
+            flat.put(i);
+        }
+        assertEquals(new Integer(0), flat.first());
+        assertEquals(new Integer(count - 1), flat.last());
+        assertTrue(flat.contains(count - 1));
+        assertFalse(flat.contains(count));
+        assertEquals(new Integer(count - 1), flat.get(count - 1));
+        assertEquals(count, flat.dataSet().size());
+
+        assertEquals(new Integer(count - 1), flat.pollLast());
+        assertEquals(new Integer(count - 2), flat.last());
+        assertEquals(new Integer(count - 2), flat.remove(count - 2));
+        assertEquals(new Integer(count - 3), flat.last());
+    }
+
+    @Test(timeout = 200)
+    public void testPollFirstAndLast() {
+        SkipList<Integer> queue = new SkipList<Integer>(randomness);
+        for (int i = 0; i < 100; i++) {
+            queue.put((i * 37) % 100);
+        }
+        for (int i = 0; i < 50; i++) {
+            assertEquals(new Integer(i), queue.pollFirst());
+            assertEquals(new Integer(99 - i), queue.pollLast());
+            assertEquals(98 - 2 * i, queue.size());
+            if (queue.size() > 0) {
+                assertEquals(new Integer(i + 1), queue.first());
+                assertEquals(new Integer(98 - i), queue.last());
+            }
+        }
+        assertNull(queue.getHead().getNext());
+        assertNull(queue.getHead().getDown());
+
+        queue.put(7);
+        assertEquals(new Integer(7), queue.first());
+        assertEquals(new Integer(7), queue.last());
+        assertEquals(new Integer(7), queue.pollLast());
+        try {
+            queue.pollFirst();
+            fail("polled an empty list");
+        } catch (NoSuchElementException e) {
+            assertEquals(0, queue.size());
+        }
+    }
+
+    @Test(timeout = 200, expected = NoSuchElementException.class)
+    public void testRemoveLargerThanEverything() {
+        list.put(1);
+        list.remove(2);
+    }
+
+    @Test(timeout = 2000)
+    public void testLevelGeneratorIsGeometric() {
+        // 1/4 uses the trailing zeros of a long, 0.3 the inverse transform
+        for (double p : new double[] {0.5, 0.25, 0.3}) {
+            LevelGenerator levels = new LevelGenerator(p, 8, 44);
+            int draws = 200000;
+            int[] atLeast = new int[10];
+            for (int i = 0; i < draws; i++) {
+                int level = levels.nextLevel();
+                assertTrue(level >= 1 && level <= 8);
+                for (int j = 1; j <= level; j++) {
+                    atLeast[j]++;
+                }
+            }
+            assertEquals(draws, atLeast[1]);
+            for (int j = 2; j <= 4; j++) {
+                double expected = Math.pow(p, j - 1);
+                assertEquals(expected, atLeast[j] / (double) draws,
+                        0.05 * expected);
+            }
+        }
+
+        LevelGenerator capped = new LevelGenerator(0.9, 3);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(capped.nextLevel() <= 3);
+        }
+    }
+
+    @Test(timeout = 200)
+    public void testLevelGeneratorWithCoinFlipper() {
+        LevelGenerator flipped = new LevelGenerator(randomness);
+        CoinFlipper expected = new CoinFlipper(new Random(10));
+        for (int i = 0; i < 100; i++) {
+            int heads = 0;
+            while (expected.flipCoin() == CoinFlipper.Coin.HEADS) {
+                heads++;
+            }
+            assertEquals(heads + 1, flipped.nextLevel());
+        }
+        assertEquals(expected.getNumFlips(), randomness.getNumFlips());
+
+        // same seed, same levels, same shape
+        SkipList<Integer> first =
+                new SkipList<Integer>(new LevelGenerator(0.25, 16, 7));
+        list = new TowerSkipList<Integer>(new LevelGenerator(0.25, 16, 7));
+        for (int i = 0; i < 500; i++) {
+            first.put(i);
+            list.put(i);
+        }
+        int height = 0;
+        for (Node<Integer> level = list.getHead(); level != null;
+                level = level.getDown()) {
+            height++;
+        }
+        assertEquals(first.getHead().getLevel(), height);
+    }
+
+    @Test(timeout = 200, expected = IllegalArgumentException.class)
+    public void testLevelGeneratorRejectsP() {
+        new LevelGenerator(1.0, 16);
+    }
+
+    @Test(timeout = 2000)
+    public void testPositionsMatchSortedList() {
+        SkipList<Integer> ranked = new SkipList<Integer>(randomness);
+        List<Integer> expected = new ArrayList<>();
+        Random rand = new Random(45);
+        for (int i = 0; i < 4000; i++) {
+            Integer key = rand.nextInt(300);
+            int at = Collections.binarySearch(expected, key);
+            int op = rand.nextInt(9);
+            if (op < 6) {
+                ranked.put(key);
+                if (at < 0) {
+                    expected.add(-at - 1, key);
+                }
+            } else if (op == 6 && at >= 0) {
+                assertEquals(expected.remove(at), ranked.remove(key));
+            } else if (op == 7 && !expected.isEmpty()) {
+                int index = rand.nextInt(expected.size());
+                assertEquals(expected.remove(index), ranked.removeAt(index));
+            } else if (op == 8 && !expected.isEmpty()) {
+                assertEquals(expected.remove(0), ranked.pollFirst());
+            } else if (!expected.isEmpty()) {
+                assertEquals(expected.remove(expected.size() - 1),
+                        ranked.pollLast());
+            }
+            at = Collections.binarySearch(expected, key);
+            assertEquals((at >= 0) ? at : -at - 1, ranked.rank(key));
+            if (i % 100 == 0) {
+                for (int index = 0; index < expected.size(); index++) {
+                    assertEquals(expected.get(index), ranked.getAt(index));
+                }
+            }
+        }
+        assertEquals(expected.size(), ranked.size());
+
+        List<Integer> iterated = new ArrayList<>();
+        ranked.forEach(iterated::add);
+        assertEquals(expected, iterated);
+        assertEquals(expected, new ArrayList<>(ranked.dataSet()));
+
+        int from = expected.size() / 4;
+        int to = from + 10;
+        List<Integer> page = new ArrayList<>();
+        ranked.subList(from, to).forEach(page::add);
+        assertEquals(expected.subList(from, to), page);
+
+        List<Integer> range = new ArrayList<>();
+        ranked.subSet(100, 200).forEach(range::add);
+        assertEquals(new ArrayList<>(new TreeSet<>(expected).subSet(100, 200)),
+                range);
+        List<Integer> head = new ArrayList<>();
+        ranked.headSet(expected.get(3)).forEach(head::add);
+        assertEquals(expected.subList(0, 3), head);
+        assertEquals(expected.get(expected.size() - 1),
+                ranked.tailSet(expected.get(expected.size() - 1))
+                        .iterator().next());
+    }
+
+    @Test(timeout = 200, expected = IndexOutOfBoundsException.class)
+    public void testGetAtOutOfBounds() {
+        SkipList<Integer> ranked = new SkipList<Integer>(randomness);
+        ranked.put(1);
+        ranked.getAt(1);
+    }
+
+    @Test(timeout = 2000)
+    public void testFromSortedIsBalanced() {
+        List<Integer> sorted = new ArrayList<>();
+        for (int i = 0; i < 1023; i++) {
+            sorted.add(2 * i);
+        }
+        SkipList<Integer> built = SkipList.fromSorted(sorted);
+        assertEquals(1023, built.size());
+        assertEquals(10, built.getHead().getLevel());
+        for (int index = 0; index < sorted.size(); index++) {
+            assertEquals(sorted.get(index), built.getAt(index));
+            assertEquals(index, built.rank(sorted.get(index)));
+        }
+
+        // it is still an ordinary skip list afterwards
+        Random rand = new Random(47);
+        for (int i = 0; i < 2000; i++) {
+            Integer key = rand.nextInt(2100);
+            int at = Collections.binarySearch(sorted, key);
+            if (rand.nextBoolean()) {
+                built.put(key);
+                if (at < 0) {
+                    sorted.add(-at - 1, key);
+                }
+            } else if (at >= 0) {
+                assertEquals(sorted.remove(at), built.remove(key));
+            }
+        }
+        assertEquals(sorted, new ArrayList<>(built.dataSet()));
+        for (int index = 0; index < sorted.size(); index += 7) {
+            assertEquals(sorted.get(index), built.getAt(index));
+        }
+        assertEquals(sorted.get(sorted.size() - 1), built.last());
+    }
+
+    @Test(timeout = 2000)
+    public void testFromSortedAndPutAll() {
+        List<Integer> unsorted = new ArrayList<>();
+        Random rand = new Random(47);
+        for (int i = 0; i < 500; i++) {
+            unsorted.add(rand.nextInt(1000));
+        }
+        TreeSet<Integer> expected = new TreeSet<>(unsorted);
+        SkipList<Integer> built = SkipList.fromSorted(unsorted,
+                new LevelGenerator(0.5, 32, 47));
+        assertEquals(new ArrayList<>(expected),
+                new ArrayList<>(built.dataSet()));
+
+        SkipList<Integer> random = SkipList.fromSorted(
+                new ArrayList<>(expected), new LevelGenerator(0.5, 32, 47));
+        assertEquals(new ArrayList<>(expected),
+                new ArrayList<>(random.dataSet()));
+
+        List<Integer> batch = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            batch.add(rand.nextInt(1500));
+        }
+        random.putAll(batch);
+        expected.addAll(batch);
+        List<Integer> all = new ArrayList<>(expected);
+        assertEquals(all, new ArrayList<>(random.dataSet()));
+        assertEquals(all.size(), random.size());
+        for (int index = 0; index < all.size(); index++) {
+            assertEquals(all.get(index), random.getAt(index));
+        }
+
+        // the last of equal items wins, as with put
+        Integer first = new Integer(5000);
+        Integer second = new Integer(5000);
+        random.putAll(Arrays.asList(first, second));
+        assertSame(second, random.get(5000));
+        SkipList<Integer> twice = SkipList.fromSorted(
+                Arrays.asList(1, first, second));
+        assertEquals(2, twice.size());
+        assertSame(second, twice.last());
+    }
+
+    @Test(timeout = 2000)
+    public void testMetrics() {
+        SkipList<Integer> measured = new SkipList<Integer>(randomness);
+        for (int i = 0; i < 1000; i++) {
+            measured.put(i);
+        }
+        SkipListMetrics metrics = measured.getMetrics();
+        assertEquals(0, metrics.getFinds());
+        assertEquals(0, metrics.getAverageHorizontalSteps(), 0);
+        assertEquals(1000, metrics.getSize());
+        assertEquals(randomness.getNumFlips(), metrics.getNodes());
+        int[] histogram = metrics.getLevelHistogram();
+        int items = 0;
+        for (int count : histogram) {
+            items += count;
+        }
+        assertEquals(1000, items);
+        assertEquals(measured.getHead().getLevel(), metrics.getHeadHeight());
+        assertTrue(histogram[histogram.length - 1] > 0);
+        assertEquals(0.5, metrics.getEstimatedP(), 0.05);
+        assertEquals((metrics.getNodes() + metrics.getHeadHeight())
+                * SkipListMetrics.NODE_BYTES, metrics.getEstimatedBytes());
+
+        measured.setMetricsEnabled(true);
+        for (int i = 0; i < 1000; i++) {
+            measured.contains(i);
+        }
+        metrics = measured.getMetrics();
+        assertEquals(1000, metrics.getFinds());
+        // every search goes from the top of the head to the bottom
+        assertEquals(metrics.getHeadHeight() - 1,
+                metrics.getAverageVerticalSteps(), 0);
+        assertTrue(metrics.getAverageHorizontalSteps() > 0);
+        assertTrue(metrics.getAverageHorizontalSteps()
+                < 2 * metrics.getHeadHeight());
+
+        measured.setMetricsEnabled(false);
+        measured.contains(5);
+        assertEquals(1000, measured.getMetrics().getFinds());
+        measured.resetMetrics();
+        assertEquals(0, measured.getMetrics().getFinds());
+
+        measured.setMetricsEnabled(true);
+        for (Integer data : measured.subSet(10, 20)) {
+            assertTrue(data < 20);
+        }
+        measured.tailSet(990).iterator().next();
+        assertEquals(0, measured.getMetrics().getFinds());
+        measured.putAll(Arrays.asList(2000, 1001, 1500));
+        metrics = measured.getMetrics();
+        assertEquals(3, metrics.getFinds());
+        assertTrue(metrics.getAverageVerticalSteps() > 0);
+    }
+
+    @Test(timeout = 5000)
+    public void testArenaSkipListFlushAndReopen() throws IOException {
+        ArenaSkipList arena = new ArenaSkipList(1 << 16);
+        TreeMap<String, String> expected = new TreeMap<>();
+        Random rand = new Random(48);
+        for (int i = 0; i < 600; i++) {
+            String key = "key" + rand.nextInt(400);
+            String value = "value" + i;
+            assertTrue(arena.put(bytes(key), bytes(value)));
+            expected.put(key, value);
+        }
+        assertEquals(expected.size(), arena.size());
+        assertArenaMatches(expected, arena);
+        assertFalse(arena.containsKey(bytes("key")));
+
+        Path file = Files.createTempFile("arena", ".skiplist");
+        try {
+            arena.writeTo(file);
+            assertEquals(arena.bytesUsed(), Files.size(file));
+            ArenaSkipList reopened = ArenaSkipList.open(file);
+            assertEquals(expected.size(), reopened.size());
+            assertArenaMatches(expected, reopened);
+            try {
+                reopened.put(bytes("key"), bytes("value"));
+                fail();
+            } catch (ReadOnlyBufferException e) {
+                assertEquals(expected.size(), reopened.size());
+            }
+        } finally {
+            Files.delete(file);
+        }
+
+        ArenaSkipList full = new ArenaSkipList(arena.bytesUsed() - 160);
+        int added = 0;
+        while (full.put(bytes("key" + added), bytes("value"))) {
+            added++;
+        }
+        assertEquals(added, full.size());
+        assertTrue(full.bytesUsed() <= full.capacity());
+        assertArrayEquals(bytes("value"), full.get(bytes("key0")));
+    }
+
+    /**
+     * Checks an ArenaSkipList has the same entries as a map
+     * @param expected the entries it should have
+     * @param arena the list
+     */
+    private void assertArenaMatches(TreeMap<String, String> expected,
+            ArenaSkipList arena) {
+        for (Map.Entry<String, String> entry : expected.entrySet()) {
+            assertArrayEquals(bytes(entry.getValue()),
+                    arena.get(bytes(entry.getKey())));
+        }
+        List<String> keys = new ArrayList<>();
+        for (Map.Entry<byte[], byte[]> entry : arena) {
+            keys.add(new String(entry.getKey(), StandardCharsets.US_ASCII));
+        }
+        assertEquals(new ArrayList<>(expected.keySet()), keys);
+    }
+
+    /**
+     * Encodes a string as ASCII, whose bytes sort like the string
+     * @param string the string
+     * @return its bytes
+     */
+    private byte[] bytes(String string) {
+        return string.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Test(timeout = 2000)
+    public void testSkipListMapMatchesTreeMap() {
+        SkipListMap<Integer, String> map = new SkipListMap<Integer, String>(
+                new LevelGenerator(0.5, 16, 46));
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        Random rand = new Random(46);
+        for (int i = 0; i < 5000; i++) {
+            Integer key = rand.nextInt(400);
+            if (rand.nextInt(3) > 0) {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            } else if (expected.containsKey(key)) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertFalse(map.containsKey(key));
+            }
+            assertEquals(expected.floorEntry(key), map.floorEntry(key));
+            assertEquals(expected.ceilingEntry(key), map.ceilingEntry(key));
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.get(expected.firstKey()),
+                map.get(expected.firstKey()));
+
+        List<Map.Entry<Integer, String>> entries = new ArrayList<>();
+        map.forEach(entries::add);
+        assertEquals(new ArrayList<>(expected.entrySet()), entries);
+
+        entries.clear();
+        map.ascendingEntries(100, 200).forEach(entries::add);
+        assertEquals(new ArrayList<>(expected.subMap(100, 200).entrySet()),
+                entries);
+        entries.clear();
+        map.descendingEntries(100, 200).forEach(entries::add);
+        assertEquals(new ArrayList<>(
+                expected.subMap(100, true, 200, false).descendingMap()
+                        .entrySet()),
+                entries);
+        entries.clear();
+        map.descendingEntries().forEach(entries::add);
+        assertEquals(new ArrayList<>(expected.descendingMap().entrySet()),
+                entries);
+
+        // the entries are live, so setValue writes through
+        for (Map.Entry<Integer, String> entry : map) {
+            entry.setValue(entry.getValue() + "!");
+        }
+        assertEquals(expected.get(expected.lastKey()) + "!",
+                map.get(expected.lastKey()));
+        assertNull(map.floorEntry(-1));
+        assertNull(map.ceilingEntry(400));
+        assertFalse(map.ascendingEntries(5, 5).iterator().hasNext());
+    }
+
+    @Test(timeout = 200, expected = NoSuchElementException.class)
+    public void testSkipListMapRemoveMissing() {
+        SkipListMap<Integer, String> map = new SkipListMap<Integer, String>();
+        map.put(1, "one");
+        map.remove(2);
+    }
+}
@@ -0,0 +1,210 @@
+import java.util.Arrays;
+
+/**
+ * The towers of a skip list with one node per item, and the searches and
+ * links that TowerSkipList and SkipListMap share
+ *
+ * A tower is a key and its next tower on each of its levels; a list adds
+ * whatever else it needs by extending Tower. The head is a tower with no
+ * key whose array of next towers grows to fit the tallest tower. A search
+ * is one loop that moves right while the next tower is smaller and down
+ * otherwise. findPreds also remembers the last tower before the key on
+ * each level, which link and unlink then use instead of prev, up or down
+ * pointers.
+ *
+ * @param <K> the type of the keys
+ * @param <N> the type of the towers
+ * @version 1.0
+ */
+class TowerList<K extends Comparable<? super K>,
+        N extends TowerList.Tower<K, N>> {
+
+    private N head;
+    private int size;
+
+    /**
+     * The number of levels in use, at least one
+     */
+    private int levels;
+
+    /**
+     * The last tower before the key on each level, filled by findPreds
+     */
+    private N[] preds;
+
+    /**
+     * Makes an empty list
+     * @param head a tower with no key and one level
+     */
+    TowerList(N head) {
+        clear(head);
+    }
+
+    /**
+     * Removes every tower
+     * @param head a new tower with no key and one level
+     */
+    void clear(N head) {
+        this.head = head;
+        // an array of the same class as the towers' own
+        preds = Arrays.copyOf(head.next, 1);
+        levels = 1;
+        size = 0;
+    }
+
+    /**
+     * Gets the head
+     * @return the tower before every other tower
+     */
+    N head() {
+        return head;
+    }
+
+    /**
+     * Gets the number of towers, not counting the head
+     * @return the number of towers
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Searches for the key and fills preds with the last tower before it
+     * on each level in use
+     * @param key the key to be searched for
+     * @return the tower with a key equal to the key, null if there is none
+     */
+    N findPreds(K key) {
+        N current = head;
+        for (int level = levels - 1; level >= 0; level--) {
+            N next = current.next[level];
+            while (next != null && next.key.compareTo(key) < 0) {
+                current = next;
+                next = current.next[level];
+            }
+            preds[level] = current;
+        }
+        N found = current.next[0];
+        return (found != null && found.key.compareTo(key) == 0)
+                ? found : null;
+    }
+
+    /**
+     * Searches for the key, stopping as soon as it is found on any level
+     * @param key the key to be searched for
+     * @return the tower with a key equal to the key, null if there is none
+     */
+    N find(K key) {
+        N current = head;
+        for (int level = levels - 1; level >= 0; level--) {
+            N next = current.next[level];
+            while (next != null) {
+                int compared = next.key.compareTo(key);
+                if (compared == 0) {
+                    return next;
+                } else if (compared > 0) {
+                    break;
+                }
+                current = next;
+                next = current.next[level];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the last tower before a key
+     * @param key the key to be searched for
+     * @param strictly true for the last tower with a smaller key, false for
+     *                 the last tower with a key that is not greater
+     * @return the last such tower, the head if there is none
+     */
+    N before(K key, boolean strictly) {
+        int stop = strictly ? 0 : 1;
+        N current = head;
+        for (int level = levels - 1; level >= 0; level--) {
+            N next = current.next[level];
+            while (next != null && next.key.compareTo(key) < stop) {
+                current = next;
+                next = current.next[level];
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Finds the last tower
+     * @return the last tower, the head if there is none
+     */
+    N last() {
+        N current = head;
+        for (int level = levels - 1; level >= 0; level--) {
+            while (current.next[level] != null) {
+                current = current.next[level];
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Links a new tower on every one of its levels. It must follow a
+     * findPreds for its key that found nothing.
+     * @param added the tower to be linked
+     * @return the tower before it on the bottom level, maybe the head
+     */
+    N link(N added) {
+        int height = added.next.length;
+        if (height > head.next.length) {
+            int capacity = Math.max(height, 2 * head.next.length);
+            head.next = Arrays.copyOf(head.next, capacity);
+            preds = Arrays.copyOf(preds, capacity);
+        }
+        for (; levels < height; levels++) {
+            preds[levels] = head;
+        }
+        for (int level = 0; level < height; level++) {
+            added.next[level] = preds[level].next[level];
+            preds[level].next[level] = added;
+        }
+        size++;
+        return preds[0];
+    }
+
+    /**
+     * Unlinks a tower from every one of its levels. It must follow the
+     * findPreds that found it.
+     * @param found the tower to be unlinked
+     */
+    void unlink(N found) {
+        for (int level = 0; level < found.next.length; level++) {
+            preds[level].next[level] = found.next[level];
+        }
+        while (levels > 1 && head.next[levels - 1] == null) {
+            levels--;
+        }
+        size--;
+    }
+
+    /**
+     * A key with its next tower on each of its levels. The array of next
+     * towers comes from the subclass, which can make it with its own
+     * class, so that it really is an N[].
+     *
+     * @param <K> the type of the key
+     * @param <N> the type of the towers it links to, its own type
+     */
+    abstract static class Tower<K, N extends Tower<K, N>> {
+        K key;
+        N[] next;
+
+        /**
+         * Makes a tower
+         * @param key the key of the tower, null for the head
+         * @param next an array of nulls, one per level of the tower
+         */
+        Tower(K key, N[] next) {
+            this.key = key;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A skip list with one node per item
+ *
+ * SkipList makes a Node for every level of every item, each with prev,
+ * next, up and down pointers and its own reference to the data. Here an
+ * item is a single tower: its data and an array with its next tower on
+ * each of its levels. There are no prev, up or down pointers; the towers
+ * before the item, which put and remove need, are remembered on the way
+ * down instead. A search is one loop that moves right while the next
+ * tower is smaller and down otherwise. The towers, searches and links are
+ * in TowerList, which SkipListMap shares.
+ *
+ * Given the same seeded CoinFlipper or LevelGenerator, an item gets as
+ * many levels as it would in SkipList, so the two lists have the same
+ * shape.
+ *
+ * @version 1.0
+ */
+public class TowerSkipList<T extends Comparable<? super T>>
+    implements SkipListInterface<T> {
+
+    private LevelGenerator levelGenerator;
+    private final TowerList<T, Tower<T>> towers =
+            new TowerList<T, Tower<T>>(new Tower<T>(null, 1));
+
+    /**
+     * Constructs a TowerSkipList object that stores data in ascending
+     * order. When an item is inserted, the flipper is called until it
+     * returns a tails. If, for an item, the flipper returns n heads, its
+     * tower has n + 1 levels.
+     *
+     * @param coinFlipper the source of randomness
+     */
+    public TowerSkipList(CoinFlipper coinFlipper) {
+        this(new LevelGenerator(coinFlipper));
+    }
+
+    /**
+     * Constructs a TowerSkipList object that stores data in ascending
+     * order, where the generator picks how many levels each item gets.
+     *
+     * @param levelGenerator the source of the levels
+     */
+    public TowerSkipList(LevelGenerator levelGenerator) {
+        this.levelGenerator = levelGenerator;
+    }
+
+    /**
+     * Constructs a TowerSkipList object that stores data in ascending
+     * order, where each item gets one more level with probability 1/2.
+     */
+    public TowerSkipList() {
+        this(new LevelGenerator());
+    }
+
+    @Override
+    public void put(T data) {
+        checkIllegalArgument(data);
+        Tower<T> found = towers.findPreds(data);
+        if (found != null) {
+            found.key = data;
+            return;
+        }
+        towers.link(new Tower<T>(data, levelGenerator.nextLevel()));
+    }
+
+    @Override
+    public T remove(T data) {
+        checkIllegalArgument(data);
+        Tower<T> found = towers.findPreds(data);
+        if (found == null) {
+            nsee();
+        }
+        towers.unlink(found);
+        return found.key;
+    }
+
+    @Override
+    public T first() {
+        if (towers.size() == 0) {
+            nsee();
+        }
+        return towers.head().next[0].key;
+    }
+
+    @Override
+    public T last() {
+        if (towers.size() == 0) {
+            nsee();
+        }
+        return towers.last().key;
+    }
+
+    /**
+     * This method checks whether the data is null and throw "Illegal
+     * Argument Exception" if the data is null
+     *
+     * @param data the data to be checks
+     */
+    private void checkIllegalArgument(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Illegal Argument Exception");
+        }
+    }
+
+    /**
+     * This method throws a no such element exception
+     * when it is called
+     */
+    private void nsee() {
+        throw new NoSuchElementException("No Such Element!");
+    }
+
+    @Override
+    public boolean contains(T data) {
+        checkIllegalArgument(data);
+        return towers.find(data) != null;
+    }
+
+    @Override
+    public T get(T data) {
+        checkIllegalArgument(data);
+        Tower<T> found = towers.find(data);
+        if (found == null) {
+            nsee();
+        }
+        return found.key;
+    }
+
+    @Override
+    public int size() {
+        return towers.size();
+    }
+
+    @Override
+    public void clear() {
+        towers.clear(new Tower<T>(null, 1));
+    }
+
+    /**
+     * The data of each item of the skip list, in ascending order.
+     * @return a set of all the data in the skip list
+     */
+    @Override
+    public Set<T> dataSet() {
+        Set<T> toReturn = new LinkedHashSet<T>();
+        for (Tower<T> current = towers.head().next[0]; current != null;
+                current = current.next[0]) {
+            toReturn.add(current.key);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Builds a copy of the list out of four-way linked Nodes, the way
+     * SkipList lays them out, so it can be printed. Changes to the copy do
+     * not change the list.
+     * @return the head of the copy
+     */
+    @Override
+    public Node<T> getHead() {
+        List<T> data = new ArrayList<T>(towers.size());
+        List<Integer> heights = new ArrayList<Integer>(towers.size());
+        for (Tower<T> current = towers.head().next[0]; current != null;
+                current = current.next[0]) {
+            data.add(current.key);
+            heights.add(current.next.length);
+        }
+        return Node.copyOf(data, heights);
+    }
+
+    /**
+     * One item of the list with its next tower on each of its levels
+     */
+    private static final class Tower<T>
+            extends TowerList.Tower<T, Tower<T>> {
+
+        /**
+         * Makes a tower with no next towers
+         * @param data the data of the tower, null for the head
+         * @param height the number of levels of the tower
+         */
+        @SuppressWarnings("unchecked")
+        private Tower(T data, int height) {
+            super(data, (Tower<T>[]) new Tower<?>[height]);
+        }
+    }
+}
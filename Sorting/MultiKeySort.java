@@ -0,0 +1,341 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Sorts rows by several columns declared up front, most significant first:
+ * <pre>
+ *     new MultiKeySort&lt;Row&gt;()
+ *         .thenInt(Row::getRegion)
+ *         .thenLong(Row::getTimestamp).descending()
+ *         .then(Row::getName, String.CASE_INSENSITIVE_ORDER)
+ *         .sort(rows);
+ * </pre>
+ * The sort is least significant column first: every column stably sorts
+ * a permutation of the row indices, so each comparison only ever looks at
+ * one column. int and long columns are read into a long[] once and radix
+ * sorted without boxing; other columns are merge sorted with their own
+ * Comparator. The keys (and the radix histograms, which do not depend on
+ * the order of the rows) are built for all columns in parallel.
+ * <p>
+ * It is:
+ * stable
+ * <p>
+ * Has a running time of:
+ * O(n) per int or long column, O(n log n) per other column
+ * <p>
+ * A MultiKeySort can be reused, but not by two threads at the same time.
+ *
+ * @param <T> the type of the rows
+ * @version 1.0
+ */
+public class MultiKeySort<T> {
+
+    /**
+     * Rows below this are not worth extracting in parallel
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private final List<Column<T>> columns = new ArrayList<Column<T>>();
+
+    /**
+     * Adds an int column, less significant than the columns before it
+     *
+     * @param key reads the column out of a row
+     * @return this sort
+     * @throws IllegalArgumentException if key is null
+     */
+    public MultiKeySort<T> thenInt(ToIntFunction<? super T> key) {
+        checkIAE(key);
+        columns.add(new Column<T>(row -> key.applyAsInt(row),
+                Integer.BYTES));
+        return this;
+    }
+
+    /**
+     * Adds a long column, less significant than the columns before it
+     *
+     * @param key reads the column out of a row
+     * @return this sort
+     * @throws IllegalArgumentException if key is null
+     */
+    public MultiKeySort<T> thenLong(ToLongFunction<? super T> key) {
+        checkIAE(key);
+        columns.add(new Column<T>(key, Long.BYTES));
+        return this;
+    }
+
+    /**
+     * Adds a column compared with a Comparator, less significant than the
+     * columns before it
+     *
+     * @param key        reads the column out of a row
+     * @param comparator compares two values of the column
+     * @param <K>        the type of the column
+     * @return this sort
+     * @throws IllegalArgumentException if key or comparator is null
+     */
+    public <K> MultiKeySort<T> then(Function<? super T, ? extends K> key,
+                                    Comparator<? super K> comparator) {
+        checkIAE(key);
+        checkIAE(comparator);
+        // the comparator only ever sees values read by key, which are Ks
+        @SuppressWarnings("unchecked")
+        Comparator<Object> values = (Comparator<Object>) comparator;
+        columns.add(new Column<T>(key, values));
+        return this;
+    }
+
+    /**
+     * Sorts the most recently added column in descending order
+     *
+     * @return this sort
+     * @throws IllegalStateException if no column has been added
+     */
+    public MultiKeySort<T> descending() {
+        if (columns.isEmpty()) {
+            throw new IllegalStateException("No column to sort descending!");
+        }
+        columns.get(columns.size() - 1).descending = true;
+        return this;
+    }
+
+    /**
+     * Sorts the rows by the declared columns
+     *
+     * @param arr the rows that must be sorted after the method runs
+     * @throws IllegalArgumentException if the array is null
+     */
+    public void sort(T[] arr) {
+        checkIAE(arr);
+        if (arr.length < 2 || columns.isEmpty()) {
+            return;
+        }
+        IntStream columnIndices = IntStream.range(0, columns.size());
+        if (arr.length >= PARALLEL_THRESHOLD) {
+            columnIndices = columnIndices.parallel();
+        }
+        columnIndices.forEach(index -> columns.get(index).extract(arr));
+
+        int[] perm = new int[arr.length];
+        for (int index = 0; index < perm.length; index++) {
+            perm[index] = index;
+        }
+        int[] buffer = new int[arr.length];
+        for (int index = columns.size() - 1; index >= 0; index--) {
+            if (columns.get(index).sortInto(perm, buffer)) {
+                int[] temp = perm;
+                perm = buffer;
+                buffer = temp;
+            }
+        }
+
+        T[] rows = arr.clone();
+        for (int index = 0; index < arr.length; index++) {
+            arr[index] = rows[perm[index]];
+        }
+        columns.forEach(Column::release);
+    }
+
+    /**
+     * A private helper method that checks if the data is null
+     *
+     * @param data the data to be checked
+     * @throws java.lang.IllegalArgumentException if the data is null
+     */
+    private static void checkIAE(Object data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+    }
+
+    /**
+     * One declared column and the keys read out of the rows being sorted
+     *
+     * @param <T> the type of the rows
+     */
+    private static final class Column<T> {
+        private final ToLongFunction<? super T> primitiveKey;
+        private final int bytes;
+        private final Function<? super T, ?> objectKey;
+        private final Comparator<Object> comparator;
+        private boolean descending;
+
+        private long[] primitives;
+        private int[][] counts;
+        private Object[] objects;
+
+        /**
+         * Creates an int or long column
+         *
+         * @param key   reads the column out of a row
+         * @param bytes number of bytes of the column
+         */
+        private Column(ToLongFunction<? super T> key, int bytes) {
+            this.primitiveKey = key;
+            this.bytes = bytes;
+            this.objectKey = null;
+            this.comparator = null;
+        }
+
+        /**
+         * Creates a column compared with a Comparator
+         *
+         * @param key        reads the column out of a row
+         * @param comparator compares two values of the column
+         */
+        private Column(Function<? super T, ?> key,
+                       Comparator<Object> comparator) {
+            this.primitiveKey = null;
+            this.bytes = 0;
+            this.objectKey = key;
+            this.comparator = comparator;
+        }
+
+        /**
+         * Reads the column out of every row. int and long keys are mapped
+         * so that unsigned order is the wanted order, and the histogram of
+         * every byte is counted.
+         *
+         * @param arr the rows
+         */
+        private void extract(T[] arr) {
+            if (primitiveKey != null) {
+                primitives = new long[arr.length];
+                counts = new int[bytes][256];
+                // flip the sign bit so negatives come first as unsigned
+                long flip = 1L << (bytes * 8 - 1);
+                for (int index = 0; index < arr.length; index++) {
+                    long key = primitiveKey.applyAsLong(arr[index]) ^ flip;
+                    if (descending) {
+                        key = ~key;
+                    }
+                    primitives[index] = key;
+                    for (int digit = 0; digit < bytes; digit++) {
+                        counts[digit][(int) (key >>> (digit * 8)) & 0xFF]++;
+                    }
+                }
+            } else {
+                objects = new Object[arr.length];
+                for (int index = 0; index < arr.length; index++) {
+                    objects[index] = objectKey.apply(arr[index]);
+                }
+            }
+        }
+
+        /**
+         * Stably sorts the row indices by this column
+         *
+         * @param perm   the row indices, in the order of the columns after
+         *               this one
+         * @param buffer an array as long as perm
+         * @return true if the sorted indices ended up in buffer, false if
+         *         they are in perm
+         */
+        private boolean sortInto(int[] perm, int[] buffer) {
+            return (primitiveKey != null) ? radixsort(perm, buffer)
+                    : mergesort(perm, buffer);
+        }
+
+        /**
+         * LSD radix sort of the row indices, one byte at a time. Bytes
+         * that are the same in every row are skipped.
+         *
+         * @param perm   the row indices
+         * @param buffer an array as long as perm
+         * @return true if the sorted indices ended up in buffer
+         */
+        private boolean radixsort(int[] perm, int[] buffer) {
+            boolean inBuffer = false;
+            int[] from = perm;
+            int[] to = buffer;
+            for (int digit = 0; digit < bytes; digit++) {
+                int[] count = counts[digit];
+                int shift = digit * 8;
+                if (count[(int) (primitives[from[0]] >>> shift) & 0xFF]
+                        == from.length) {
+                    continue;
+                }
+                int[] starts = new int[256];
+                for (int bucket = 1; bucket < 256; bucket++) {
+                    starts[bucket] = starts[bucket - 1] + count[bucket - 1];
+                }
+                for (int index = 0; index < from.length; index++) {
+                    int row = from[index];
+                    to[starts[(int) (primitives[row] >>> shift) & 0xFF]++] =
+                            row;
+                }
+                int[] temp = from;
+                from = to;
+                to = temp;
+                inBuffer = !inBuffer;
+            }
+            return inBuffer;
+        }
+
+        /**
+         * Bottom-up merge sort of the row indices with the Comparator
+         *
+         * @param perm   the row indices
+         * @param buffer an array as long as perm
+         * @return true if the sorted indices ended up in buffer
+         */
+        private boolean mergesort(int[] perm, int[] buffer) {
+            boolean inBuffer = false;
+            int[] from = perm;
+            int[] to = buffer;
+            for (int width = 1; width < from.length; width *= 2) {
+                for (int start = 0; start < from.length; start += 2 * width) {
+                    int mid = Math.min(start + width, from.length);
+                    int end = Math.min(start + 2 * width, from.length);
+                    int a = start;
+                    int b = mid;
+                    int count = start;
+                    while (a < mid && b < end) {
+                        if (compare(from[a], from[b]) <= 0) {
+                            to[count++] = from[a++];
+                        } else {
+                            to[count++] = from[b++];
+                        }
+                    }
+                    while (a < mid) {
+                        to[count++] = from[a++];
+                    }
+                    while (b < end) {
+                        to[count++] = from[b++];
+                    }
+                }
+                int[] temp = from;
+                from = to;
+                to = temp;
+                inBuffer = !inBuffer;
+            }
+            return inBuffer;
+        }
+
+        /**
+         * Compares two rows by this column
+         *
+         * @param rowA index of the first row
+         * @param rowB index of the second row
+         * @return the comparison, reversed if descending
+         */
+        private int compare(int rowA, int rowB) {
+            int compared = comparator.compare(objects[rowA], objects[rowB]);
+            return descending ? -Integer.signum(compared) : compared;
+        }
+
+        /**
+         * Drops the keys of the rows that were just sorted
+         */
+        private void release() {
+            primitives = null;
+            counts = null;
+            objects = null;
+        }
+    }
+}
@@ -1,3 +1,4 @@
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Random;
 
@@ -7,6 +8,33 @@ import java.util.Random;
  */
 public class Sorting {
 
+    /**
+     * Arrays shorter than this are insertion sorted by sort()
+     */
+    private static final int INSERTION_THRESHOLD = 16;
+
+    /**
+     * sort() treats an array as nearly sorted when it has at most
+     * (length / RUN_RATIO) runs
+     */
+    private static final int RUN_RATIO = 16;
+
+    /**
+     * Number of evenly spaced elements sort() looks at to estimate
+     * how many duplicates the array has
+     */
+    private static final int SAMPLE_SIZE = 32;
+
+    /**
+     * Ciura's gap sequence, extended past 1750 by multiplying by 2.25
+     */
+    private static final int[] CIURA_GAPS = ciuraGaps();
+
+    /**
+     * Tokuda's gap sequence, ceil((9 * (9 / 4)^k - 4) / 5)
+     */
+    private static final int[] TOKUDA_GAPS = tokudaGaps();
+
     /**
      * Implement bubble sort.
      * <p>
@@ -125,6 +153,210 @@ public class Sorting {
         }
     }
 
+    /**
+     * Implement shell sort with Ciura's gap sequence
+     * (1, 4, 10, 23, 57, 132, 301, 701, 1750, then times 2.25).
+     * <p>
+     * It should be:
+     * in-place
+     * <p>
+     * Have a worst case running time of:
+     * O(n^2)
+     * <p>
+     * And a best case running time of:
+     * O(n log(n))
+     * <p>
+     * Note that there may be duplicates in the array.
+     *
+     * @param <T>        data type to sort
+     * @param arr        the array that must be sorted after the method runs
+     * @param comparator the Comparator used to compare the data in arr
+     * @throws IllegalArgumentException if the array or comparator is null
+     */
+    public static <T> void ciuraShellsort(T[] arr, Comparator<T> comparator) {
+        shellsort(arr, comparator, CIURA_GAPS);
+    }
+
+    /**
+     * Implement shell sort with Tokuda's gap sequence
+     * (1, 4, 9, 20, 46, 103, 233, 525, ...).
+     * <p>
+     * It should be:
+     * in-place
+     * <p>
+     * Have a worst case running time of:
+     * O(n^2)
+     * <p>
+     * And a best case running time of:
+     * O(n log(n))
+     * <p>
+     * Note that there may be duplicates in the array.
+     *
+     * @param <T>        data type to sort
+     * @param arr        the array that must be sorted after the method runs
+     * @param comparator the Comparator used to compare the data in arr
+     * @throws IllegalArgumentException if the array or comparator is null
+     */
+    public static <T> void tokudaShellsort(T[] arr, Comparator<T> comparator) {
+        shellsort(arr, comparator, TOKUDA_GAPS);
+    }
+
+    /**
+     * private static helper method that shell sorts data with the given
+     * gaps. Each gap pass shifts elements into a hole instead of swapping
+     * them, and nothing is allocated.
+     *
+     * @param arr        the array to be sorted
+     * @param comparator comparator type T
+     * @param gaps       ascending gap sequence starting at 1
+     * @param <T>        generic method
+     */
+    private static <T> void shellsort(T[] arr, Comparator<T> comparator,
+                                      int[] gaps) {
+        if ((arr != null) && (comparator != null)) {
+            for (int gapIndex = firstGap(gaps, arr.length);
+                 gapIndex >= 0; gapIndex--) {
+                int gap = gaps[gapIndex];
+                for (int index = gap; index < arr.length; index++) {
+                    T data = arr[index];
+                    int count = index;
+                    while ((count >= gap)
+                            && (comparator.compare(arr[count - gap], data)
+                            > 0)) {
+                        arr[count] = arr[count - gap];
+                        count -= gap;
+                    }
+                    arr[count] = data;
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Illegal Argument");
+        }
+    }
+
+    /**
+     * Implement shell sort for ints with Ciura's gap sequence.
+     * <p>
+     * It should be:
+     * in-place
+     * <p>
+     * Have a worst case running time of:
+     * O(n^2)
+     * <p>
+     * And a best case running time of:
+     * O(n log(n))
+     *
+     * @param arr the array that must be sorted after the method runs
+     * @throws IllegalArgumentException if the array is null
+     */
+    public static void shellsort(int[] arr) {
+        if (arr != null) {
+            for (int gapIndex = firstGap(CIURA_GAPS, arr.length);
+                 gapIndex >= 0; gapIndex--) {
+                int gap = CIURA_GAPS[gapIndex];
+                for (int index = gap; index < arr.length; index++) {
+                    int data = arr[index];
+                    int count = index;
+                    while ((count >= gap) && (arr[count - gap] > data)) {
+                        arr[count] = arr[count - gap];
+                        count -= gap;
+                    }
+                    arr[count] = data;
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Illegal Argument");
+        }
+    }
+
+    /**
+     * Implement shell sort for longs with Ciura's gap sequence.
+     * <p>
+     * It should be:
+     * in-place
+     * <p>
+     * Have a worst case running time of:
+     * O(n^2)
+     * <p>
+     * And a best case running time of:
+     * O(n log(n))
+     *
+     * @param arr the array that must be sorted after the method runs
+     * @throws IllegalArgumentException if the array is null
+     */
+    public static void shellsort(long[] arr) {
+        if (arr != null) {
+            for (int gapIndex = firstGap(CIURA_GAPS, arr.length);
+                 gapIndex >= 0; gapIndex--) {
+                int gap = CIURA_GAPS[gapIndex];
+                for (int index = gap; index < arr.length; index++) {
+                    long data = arr[index];
+                    int count = index;
+                    while ((count >= gap) && (arr[count - gap] > data)) {
+                        arr[count] = arr[count - gap];
+                        count -= gap;
+                    }
+                    arr[count] = data;
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Illegal Argument");
+        }
+    }
+
+    /**
+     * Private helper method that finds the largest gap that is
+     * smaller than the length of the array
+     *
+     * @param gaps   ascending gap sequence starting at 1
+     * @param length length of the array to be sorted
+     * @return index of the first gap to use, or -1 if there is none
+     */
+    private static int firstGap(int[] gaps, int length) {
+        int gapIndex = -1;
+        while ((gapIndex + 1 < gaps.length) && (gaps[gapIndex + 1] < length)) {
+            gapIndex++;
+        }
+        return gapIndex;
+    }
+
+    /**
+     * Private helper method that builds Ciura's gap sequence
+     * up to the largest int
+     *
+     * @return the ascending gap sequence
+     */
+    private static int[] ciuraGaps() {
+        int[] gaps = Arrays.copyOf(new int[] {1, 4, 10, 23, 57, 132, 301,
+            701, 1750}, 32);
+        int count = 9;
+        double gap = Math.floor(gaps[count - 1] * 2.25);
+        while (gap < Integer.MAX_VALUE) {
+            gaps[count++] = (int) gap;
+            gap = Math.floor(gap * 2.25);
+        }
+        return Arrays.copyOf(gaps, count);
+    }
+
+    /**
+     * Private helper method that builds Tokuda's gap sequence
+     * up to the largest int
+     *
+     * @return the ascending gap sequence
+     */
+    private static int[] tokudaGaps() {
+        int[] gaps = new int[32];
+        int count = 0;
+        double power = 1;
+        double gap = 1;
+        while (gap < Integer.MAX_VALUE) {
+            gaps[count++] = (int) gap;
+            power *= 2.25;
+            gap = Math.ceil((9 * power - 4) / 5);
+        }
+        return Arrays.copyOf(gaps, count);
+    }
+
     /**
      * Implement quick sort.
      * <p>
@@ -455,6 +687,377 @@ public class Sorting {
         return ((Math.abs(theInt)) / tenPower(at - 1)) % 10;
     }
 
+    /**
+     * Sorts the array with the algorithm that best fits its data.
+     * <p>
+     * The array is scanned once for ascending and descending runs and an
+     * evenly spaced sample of it is checked for duplicates, then it is
+     * sorted with:
+     * insertion sort if it is tiny,
+     * natural merge sort if it is made of only a few runs,
+     * three-way quick sort if the sample has many duplicates,
+     * merge sort otherwise.
+     * <p>
+     * It is NOT guaranteed to be stable. Use mergesort if duplicates
+     * must keep their relative position.
+     *
+     * @param <T>        data type to sort
+     * @param arr        the array that must be sorted after the method runs
+     * @param comparator the Comparator used to compare the data in arr
+     * @throws IllegalArgumentException if the array or comparator is null
+     */
+    public static <T> void sort(T[] arr, Comparator<T> comparator) {
+        if ((arr != null) && (comparator != null)) {
+            int maxRuns = arr.length / RUN_RATIO;
+            if (arr.length < INSERTION_THRESHOLD) {
+                insertionsort(arr, comparator);
+            } else if (countRuns(arr, comparator, maxRuns) <= maxRuns) {
+                naturalMergesort(arr, comparator);
+            } else if (sampleDuplicates(arr, comparator)
+                    >= SAMPLE_SIZE / 4) {
+                threeWayQuicksort(arr, comparator, new Random());
+            } else {
+                mergesort(arr, comparator);
+            }
+        } else {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+    }
+
+    /**
+     * Sorts the array of ints with the algorithm that best fits its size:
+     * insertion sort if it is tiny, a byte-wise radix sort otherwise.
+     *
+     * @param arr the array to be sorted
+     * @return the sorted array
+     * @throws IllegalArgumentException if the array is null
+     */
+    public static int[] sort(int[] arr) {
+        if (arr == null) {
+            throw new IllegalArgumentException("Illegal Argument!");
+        } else if (arr.length < INSERTION_THRESHOLD) {
+            for (int index = 1; index < arr.length; index++) {
+                int data = arr[index];
+                int count = index;
+                while (count > 0 && arr[count - 1] > data) {
+                    arr[count] = arr[count - 1];
+                    count--;
+                }
+                arr[count] = data;
+            }
+            return arr;
+        } else {
+            return byteRadixsort(arr);
+        }
+    }
+
+    /**
+     * Private static helper method that LSD radix sorts ints one byte at
+     * a time. Flipping the sign bit turns every int, Integer.MIN_VALUE
+     * included, into an unsigned key in the same order, so there is no
+     * need for Math.abs or a separate pass for the negatives. A pass where
+     * every key has the same byte is skipped.
+     *
+     * @param arr the array to be sorted
+     * @return the sorted array
+     */
+    private static int[] byteRadixsort(int[] arr) {
+        int[] from = arr;
+        int[] to = new int[arr.length];
+        for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) {
+            int[] totals = new int[1 << Byte.SIZE];
+            for (int data : from) {
+                totals[((data ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++;
+            }
+            if (totals[((from[0] ^ Integer.MIN_VALUE) >>> shift) & 0xFF]
+                    == from.length) {
+                continue;
+            }
+            for (int index = 1; index < totals.length; index++) {
+                totals[index] += totals[index - 1];
+            }
+            for (int index = from.length - 1; index >= 0; index--) {
+                int bucket = ((from[index] ^ Integer.MIN_VALUE) >>> shift)
+                        & 0xFF;
+                to[--totals[bucket]] = from[index];
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != arr) {
+            System.arraycopy(from, 0, arr, 0, arr.length);
+        }
+        return arr;
+    }
+
+    /**
+     * Implement natural merge sort.
+     * <p>
+     * The array is split into the runs that are already in it (strictly
+     * descending runs are reversed in place), then neighbouring runs are
+     * merged until only one run is left.
+     * <p>
+     * It should be:
+     * stable
+     * <p>
+     * Have a worst case running time of:
+     * O(n log n)
+     * <p>
+     * And a best case running time of:
+     * O(n)
+     * <p>
+     * Any duplicates in the array should be in the same relative position after
+     * sorting as they were before sorting.
+     *
+     * @param <T>        data type to sort
+     * @param arr        the array that must be sorted after the method runs
+     * @param comparator the Comparator used to compare the data in arr
+     * @throws IllegalArgumentException if the array or comparator is null
+     */
+    public static <T> void naturalMergesort(T[] arr,
+                                            Comparator<T> comparator) {
+        if ((arr != null) && (comparator != null)) {
+            // reverse the descending runs so every run is ascending
+            int start = 0;
+            while (start < arr.length) {
+                int end = runEnd(arr, comparator, start);
+                if (comparator.compare(arr[end - 1], arr[start]) < 0) {
+                    for (int a = start, b = end - 1; a < b; a++, b--) {
+                        swap(arr, a, b);
+                    }
+                }
+                start = end;
+            }
+
+            // only ever holds elements of arr
+            @SuppressWarnings("unchecked")
+            T[] buffer = (T[]) new Object[arr.length];
+            boolean isSorted = false;
+            while (!isSorted) {
+                isSorted = true;
+                start = 0;
+                while (start < arr.length) {
+                    int mid = ascendingEnd(arr, comparator, start);
+                    if (mid < arr.length) {
+                        int end = ascendingEnd(arr, comparator, mid);
+                        mergeRuns(arr, buffer, comparator, start, mid, end);
+                        isSorted = false;
+                        start = end;
+                    } else {
+                        start = mid;
+                    }
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+    }
+
+    /**
+     * Private helper method that finds where the run starting at
+     * the given index ends. A run is either ascending (duplicates
+     * allowed) or strictly descending.
+     *
+     * @param arr        the array
+     * @param comparator comparator of T
+     * @param start      index where the run starts
+     * @param <T>        generic method
+     * @return the index right after the end of the run
+     */
+    private static <T> int runEnd(T[] arr, Comparator<T> comparator,
+                                  int start) {
+        int end = start + 1;
+        if ((end < arr.length)
+                && (comparator.compare(arr[end], arr[start]) < 0)) {
+            while ((end < arr.length)
+                    && (comparator.compare(arr[end], arr[end - 1]) < 0)) {
+                end++;
+            }
+            return end;
+        } else {
+            return ascendingEnd(arr, comparator, start);
+        }
+    }
+
+    /**
+     * Private helper method that finds where the ascending run
+     * starting at the given index ends
+     *
+     * @param arr        the array
+     * @param comparator comparator of T
+     * @param start      index where the run starts
+     * @param <T>        generic method
+     * @return the index right after the end of the run
+     */
+    private static <T> int ascendingEnd(T[] arr, Comparator<T> comparator,
+                                        int start) {
+        int end = start + 1;
+        while ((end < arr.length)
+                && (comparator.compare(arr[end], arr[end - 1]) >= 0)) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Private helper method that counts the runs in the array,
+     * stopping as soon as there are more than the given limit
+     *
+     * @param arr        the array
+     * @param comparator comparator of T
+     * @param limit      the number of runs after which counting stops
+     * @param <T>        generic method
+     * @return the number of runs, or limit + 1 if there are more
+     */
+    private static <T> int countRuns(T[] arr, Comparator<T> comparator,
+                                     int limit) {
+        int runs = 0;
+        int start = 0;
+        while ((start < arr.length) && (runs <= limit)) {
+            start = runEnd(arr, comparator, start);
+            runs++;
+        }
+        return runs;
+    }
+
+    /**
+     * Private helper method that merges the two neighbouring sorted
+     * runs arr[start, mid) and arr[mid, end). Only the first run
+     * is copied into the buffer.
+     *
+     * @param arr        the array that contains all data
+     * @param buffer     temporary array as long as arr
+     * @param comparator comparator of T
+     * @param start      index where the first run starts
+     * @param mid        index where the second run starts
+     * @param end        index right after the end of the second run
+     * @param <T>        generic method
+     */
+    private static <T> void mergeRuns(T[] arr, T[] buffer,
+                                      Comparator<T> comparator,
+                                      int start, int mid, int end) {
+        System.arraycopy(arr, start, buffer, start, mid - start);
+        int a = start;
+        int b = mid;
+        int count = start;
+        while ((a < mid) && (b < end)) {
+            if (comparator.compare(buffer[a], arr[b]) <= 0) {
+                arr[count++] = buffer[a++];
+            } else {
+                arr[count++] = arr[b++];
+            }
+        }
+        while (a < mid) {
+            arr[count++] = buffer[a++];
+        }
+    }
+
+    /**
+     * Private helper method that counts the duplicates among
+     * evenly spaced elements of the array
+     *
+     * @param arr        the array
+     * @param comparator comparator of T
+     * @param <T>        generic method
+     * @return the number of sampled elements equal to another sampled one
+     */
+    private static <T> int sampleDuplicates(T[] arr,
+                                            Comparator<T> comparator) {
+        // only ever holds elements of arr
+        @SuppressWarnings("unchecked")
+        T[] sample = (T[]) new Object[Math.min(SAMPLE_SIZE, arr.length)];
+        int step = arr.length / sample.length;
+        for (int index = 0; index < sample.length; index++) {
+            sample[index] = arr[index * step];
+        }
+        insertionsort(sample, comparator);
+        int duplicates = 0;
+        for (int index = 1; index < sample.length; index++) {
+            if (comparator.compare(sample[index - 1], sample[index]) == 0) {
+                duplicates++;
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * Implement three-way quick sort.
+     * <p>
+     * Every partition splits the range into data less than, equal to and
+     * greater than the pivot, so the equal data is never looked at again.
+     * Use the provided random object to select your pivots.
+     * <p>
+     * It should be:
+     * in-place
+     * <p>
+     * Have a worst case running time of:
+     * O(n^2)
+     * <p>
+     * And a best case running time of:
+     * O(n) when every element is equal
+     * <p>
+     * Note that there may be duplicates in the array.
+     *
+     * @param <T>        data type to sort
+     * @param arr        the array that must be sorted after the method runs
+     * @param comparator the Comparator used to compare the data in arr
+     * @param rand       the Random object used to select pivots
+     * @throws IllegalArgumentException if the array or comparator or rand is
+     *                                  null
+     */
+    public static <T> void threeWayQuicksort(T[] arr,
+                                             Comparator<T> comparator,
+                                             Random rand) {
+        if ((arr != null) && (comparator != null) && (rand != null)) {
+            threeWayQuicksort(arr, comparator, rand, 0, arr.length - 1);
+        } else {
+            throw new IllegalArgumentException("Illegal Argument!");
+        }
+    }
+
+    /**
+     * private static helper method that three-way quicksorts data.
+     * It only recurses on the smaller side so the stack stays O(log n)
+     *
+     * @param arr        the array to be sorted
+     * @param comparator comparator type T
+     * @param rand       random
+     * @param indexA     starting index
+     * @param indexB     ending index
+     * @param <T>        generic method
+     */
+    private static <T> void threeWayQuicksort(T[] arr,
+                                              Comparator<T> comparator,
+                                              Random rand,
+                                              int indexA, int indexB) {
+        while (indexB > indexA) {
+            swap(arr, indexA, rand.nextInt(indexB - indexA + 1) + indexA);
+            T pivot = arr[indexA];
+            // arr[indexA, less) < pivot, arr[greater + 1, indexB] > pivot
+            int less = indexA;
+            int greater = indexB;
+            int current = indexA + 1;
+            while (current <= greater) {
+                int compared = comparator.compare(arr[current], pivot);
+                if (compared < 0) {
+                    swap(arr, less++, current++);
+                } else if (compared > 0) {
+                    swap(arr, current, greater--);
+                } else {
+                    current++;
+                }
+            }
+            if ((less - indexA) < (indexB - greater)) {
+                threeWayQuicksort(arr, comparator, rand, indexA, less - 1);
+                indexA = greater + 1;
+            } else {
+                threeWayQuicksort(arr, comparator, rand, greater + 1, indexB);
+                indexB = less - 1;
+            }
+        }
+    }
+
     /**
      * This is a private helper method that swap 2 values in
      * an array
@@ -1,6 +1,7 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Random;
 
@@ -61,6 +62,39 @@ public class SortingStudentTest {
         }
     }
 
+    @Test(timeout = TIMEOUT)
+    public void testCiuraShellsort() {
+        Sorting.ciuraShellsort(horde, (new Zombie(null, 0, 0))
+                .getNameComparator());
+        for (int i = 1; i < horde.length; i++) {
+            assertTrue(horde[i].getName().compareTo(horde[i - 1].getName())
+                    >= 0);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testTokudaShellsort() {
+        Sorting.tokudaShellsort(horde, (new Zombie(null, 0, 0))
+                .getNameComparator());
+        for (int i = 1; i < horde.length; i++) {
+            assertTrue(horde[i].getName().compareTo(horde[i - 1].getName())
+                    >= 0);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testShellsortPrimitives() {
+        int[] unsortedInts = new int[] {54, 28, 58, 84, 20, 122, 85, 3};
+        int[] sortedInts = new int[] {3, 20, 28, 54, 58, 84, 85, 122};
+        Sorting.shellsort(unsortedInts);
+        assertArrayEquals(sortedInts, unsortedInts);
+
+        long[] unsortedLongs = new long[] {54L, -28L, 58L, 1L << 40, 20L, 3L};
+        long[] sortedLongs = new long[] {-28L, 3L, 20L, 54L, 58L, 1L << 40};
+        Sorting.shellsort(unsortedLongs);
+        assertArrayEquals(sortedLongs, unsortedLongs);
+    }
+
     @Test(timeout = TIMEOUT)
     public void testQuicksort() {
         Sorting.quicksort(horde, (new Zombie(null, 0, 0)).getNameComparator(),
@@ -84,6 +118,111 @@ public class SortingStudentTest {
         assertArrayEquals(sortedArray, Sorting.radixsort(unsortedArray));
     }
 
+    @Test(timeout = TIMEOUT)
+    public void testNaturalMergesort() {
+        Sorting.naturalMergesort(horde, (new Zombie(null, 0, 0))
+                .getNameComparator());
+        assertArrayEquals(hordeByName, horde);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testThreeWayQuicksort() {
+        Sorting.threeWayQuicksort(horde, (new Zombie(null, 0, 0))
+                .getNameComparator(), new Random(0x600dc0de));
+        for (int i = 1; i < horde.length; i++) {
+            assertTrue(horde[i].getName().compareTo(horde[i - 1].getName())
+                    >= 0);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSort() {
+        Sorting.sort(horde, (new Zombie(null, 0, 0)).getNameComparator());
+        assertArrayEquals(hordeByName, horde);
+
+        // nearly sorted, many duplicates and random input take different
+        // paths through sort()
+        Random rand = new Random(0x600dc0de);
+        Integer[][] inputs = new Integer[3][1000];
+        for (int i = 0; i < 1000; i++) {
+            inputs[0][i] = (i % 100 == 0) ? -i : i;
+            inputs[1][i] = rand.nextInt(5);
+            inputs[2][i] = rand.nextInt();
+        }
+        for (Integer[] input : inputs) {
+            Integer[] expected = input.clone();
+            Arrays.sort(expected);
+            Sorting.sort(input, Comparator.naturalOrder());
+            assertArrayEquals(expected, input);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSortInts() {
+        int[] unsortedArray = new int[] {54, 28, 58, 84, 20, 122, 85, 3};
+        int[] sortedArray = new int[] {3, 20, 28, 54, 58, 84, 85, 122};
+        assertArrayEquals(sortedArray, Sorting.sort(unsortedArray));
+
+        unsortedArray = new int[100];
+        for (int i = 0; i < unsortedArray.length; i++) {
+            unsortedArray[i] = (i * 7919) % 101 - 50;
+        }
+        sortedArray = unsortedArray.clone();
+        Arrays.sort(sortedArray);
+        assertArrayEquals(sortedArray, Sorting.sort(unsortedArray));
+
+        // Math.abs(Integer.MIN_VALUE) is negative, which must not matter
+        unsortedArray = new int[20];
+        for (int i = 0; i < unsortedArray.length; i++) {
+            unsortedArray[i] = (i * 7919) % 41 - 20;
+        }
+        unsortedArray[3] = Integer.MIN_VALUE;
+        unsortedArray[11] = Integer.MAX_VALUE;
+        unsortedArray[17] = Integer.MIN_VALUE;
+        sortedArray = unsortedArray.clone();
+        Arrays.sort(sortedArray);
+        assertArrayEquals(sortedArray, Sorting.sort(unsortedArray));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMultiKeySort() {
+        Zombie[] expected = horde.clone();
+        Arrays.sort(expected, Comparator.comparingInt(Zombie::getKills)
+                .thenComparing(Zombie::getDaysSinceDeath,
+                        Comparator.reverseOrder())
+                .thenComparing(Zombie::getName));
+        new MultiKeySort<Zombie>()
+                .thenInt(Zombie::getKills)
+                .thenLong(Zombie::getDaysSinceDeath).descending()
+                .then(Zombie::getName, Comparator.naturalOrder())
+                .sort(horde);
+        assertArrayEquals(expected, horde);
+
+        // stable: the two zombies named OZ keep their order
+        Zombie[] byName = hordeByName.clone();
+        new MultiKeySort<Zombie>()
+                .then(Zombie::getName, Comparator.naturalOrder())
+                .sort(horde);
+        assertArrayEquals(byName, horde);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMultiKeySortNegatives() {
+        Random rand = new Random(0x600dc0de);
+        long[][] rows = new long[10000][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new long[] {rand.nextInt(7) - 3, rand.nextLong(), i};
+        }
+        long[][] expected = rows.clone();
+        Arrays.sort(expected, Comparator.<long[]>comparingLong(row -> row[0])
+                .thenComparingLong(row -> row[1]));
+        new MultiKeySort<long[]>()
+                .thenInt(row -> (int) row[0])
+                .thenLong(row -> row[1])
+                .sort(rows);
+        assertArrayEquals(expected, rows);
+    }
+
     /**
      * This is a Zombie class that may or may not be related to Humans versus
      * Zombies (hvz.gatech.edu).
@@ -0,0 +1,798 @@
+import benchmarks.Keys;
+import benchmarks.Workload;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The benchmarked operations. This class is in the default package so it
+ * can reach the data structures; the JMH benchmarks find it through
+ * Workload.create(String).
+ *
+ * @version 1.0
+ */
+public final class Workloads {
+
+    /**
+     * Edges per vertex of a sparse generated graph
+     */
+    private static final int SPARSE_DEGREE = 4;
+
+    /**
+     * No instances
+     */
+    private Workloads() {
+    }
+
+    /**
+     * Creates the workload for the operation
+     *
+     * @param operation the name of the operation
+     * @return a new workload for the operation
+     * @throws IllegalArgumentException if there is no such operation
+     */
+    public static Workload create(String operation) {
+        switch (operation) {
+        case "hashmap.add":
+            return new Input() {
+                @Override
+                public Object run() {
+                    return fillHashMap(keys);
+                }
+            };
+        case "hashmap.get":
+            return new Input() {
+                private HashMap<Integer, Integer> map;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    map = fillHashMap(keys);
+                }
+
+                @Override
+                public Object run() {
+                    int found = 0;
+                    for (Integer key : keys) {
+                        found += map.get(key);
+                    }
+                    return found;
+                }
+            };
+        case "hashmap.remove":
+            return new Input() {
+                private HashMap<Integer, Integer> map;
+
+                @Override
+                public void reset() {
+                    map = fillHashMap(keys);
+                }
+
+                @Override
+                public Object run() {
+                    for (Integer key : keys) {
+                        if (map.contains(key)) {
+                            map.remove(key);
+                        }
+                    }
+                    return map;
+                }
+            };
+        case "avl.add":
+            return new Input() {
+                @Override
+                public Object run() {
+                    return fillAVL(keys);
+                }
+            };
+        case "avl.get":
+            return new Input() {
+                private AVL<Integer> tree;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    tree = fillAVL(keys);
+                }
+
+                @Override
+                public Object run() {
+                    int found = 0;
+                    for (Integer key : keys) {
+                        found += tree.get(key);
+                    }
+                    return found;
+                }
+            };
+        case "avl.addRemove":
+            return new Input() {
+                private AVL<Integer> tree;
+                private int next;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    tree = new AVL<Integer>();
+                    for (Integer key : keys) {
+                        tree.add(2 * key);
+                    }
+                }
+
+                @Override
+                public Object run() {
+                    // odd keys are never in the tree, so the size stays put
+                    Integer key = 2 * ints[next] + 1;
+                    next = (next + 1 == ints.length) ? 0 : next + 1;
+                    tree.add(key);
+                    return tree.remove(key);
+                }
+            };
+        case "avl.scan":
+            return new Input() {
+                private AVL<Integer> tree;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    tree = fillAVL(keys);
+                }
+
+                @Override
+                public Object run() {
+                    return sum(tree);
+                }
+            };
+        case "avl.lookup":
+            return new Input() {
+                private AVL<Integer> tree;
+                private int next;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    tree = AVL.fromSorted(sortedKeys(ints));
+                }
+
+                @Override
+                public Object run() {
+                    Integer key = keys[next];
+                    next = (next + 1 == keys.length) ? 0 : next + 1;
+                    return tree.get(key);
+                }
+            };
+        case "pooledavl.addRemove":
+            return new Input() {
+                private PooledAVL<Integer> tree;
+                private Integer[] odd;
+                private int next;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    tree = new PooledAVL<Integer>(size + 1);
+                    odd = new Integer[ints.length];
+                    for (int index = 0; index < ints.length; index++) {
+                        tree.add(2 * ints[index]);
+                        odd[index] = 2 * ints[index] + 1;
+                    }
+                }
+
+                @Override
+                public Object run() {
+                    // boxed up front, so the pool is all that is measured
+                    Integer key = odd[next];
+                    next = (next + 1 == odd.length) ? 0 : next + 1;
+                    tree.add(key);
+                    return tree.remove(key);
+                }
+            };
+        case "bst.add":
+            return new Input() {
+                @Override
+                public Object run() {
+                    return fillBST(keys);
+                }
+            };
+        case "bst.get":
+            return new Input() {
+                private BST<Integer> tree;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    tree = fillBST(keys);
+                }
+
+                @Override
+                public Object run() {
+                    int found = 0;
+                    for (Integer key : keys) {
+                        found += tree.get(key);
+                    }
+                    return found;
+                }
+            };
+        case "bst.scan":
+            return new Input() {
+                private BST<Integer> tree;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    tree = fillBST(keys);
+                }
+
+                @Override
+                public Object run() {
+                    return sum(tree);
+                }
+            };
+        case "bplustree.add":
+            return new Input() {
+                @Override
+                public Object run() {
+                    return fillBPlusTree(keys);
+                }
+            };
+        case "bplustree.get":
+            return new Input() {
+                private BPlusTree<Integer> tree;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    tree = fillBPlusTree(keys);
+                }
+
+                @Override
+                public Object run() {
+                    int found = 0;
+                    for (Integer key : keys) {
+                        found += tree.get(key);
+                    }
+                    return found;
+                }
+            };
+        case "bplustree.scan":
+            return new Input() {
+                private BPlusTree<Integer> tree;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    tree = fillBPlusTree(keys);
+                }
+
+                @Override
+                public Object run() {
+                    return sum(tree);
+                }
+            };
+        case "bplustree.lookup":
+            return new Input() {
+                private BPlusTree<Integer> tree;
+                private int next;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    tree = BPlusTree.fromSorted(sortedKeys(ints),
+                            BPlusTree.DEFAULT_FANOUT);
+                }
+
+                @Override
+                public Object run() {
+                    Integer key = keys[next];
+                    next = (next + 1 == keys.length) ? 0 : next + 1;
+                    return tree.get(key);
+                }
+            };
+        case "bplustree.addRemove":
+            return new Input() {
+                private BPlusTree<Integer> tree;
+                private int next;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    List<Integer> even = new ArrayList<Integer>(ints.length);
+                    for (int key : sortedInts(ints)) {
+                        even.add(2 * key);
+                    }
+                    tree = BPlusTree.fromSorted(even,
+                            BPlusTree.DEFAULT_FANOUT);
+                }
+
+                @Override
+                public Object run() {
+                    // odd keys are never in the tree, so the size stays put
+                    Integer key = 2 * ints[next] + 1;
+                    next = (next + 1 == ints.length) ? 0 : next + 1;
+                    tree.add(key);
+                    return tree.remove(key);
+                }
+            };
+        case "skiplist.put":
+            return new Input() {
+                @Override
+                public Object run() {
+                    return fillSkipList(new SkipList<Integer>(flipper()),
+                            keys);
+                }
+            };
+        case "skiplist.get":
+            return new Input() {
+                private SkipList<Integer> list;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    list = fillSkipList(new SkipList<Integer>(flipper()),
+                            keys);
+                }
+
+                @Override
+                public Object run() {
+                    return getAll(list, keys);
+                }
+            };
+        case "skiplist.putAll":
+            return new Input() {
+                private List<Integer> batch;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    batch = Arrays.asList(keys);
+                }
+
+                @Override
+                public Object run() {
+                    SkipList<Integer> list = new SkipList<Integer>(flipper());
+                    list.putAll(batch);
+                    return list;
+                }
+            };
+        case "skiplist.fromSorted":
+            return new Input() {
+                private List<Integer> sorted;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    sorted = sortedKeys(ints);
+                }
+
+                @Override
+                public Object run() {
+                    return SkipList.fromSorted(sorted);
+                }
+            };
+        case "towerskiplist.put":
+            return new Input() {
+                @Override
+                public Object run() {
+                    return fillSkipList(
+                            new TowerSkipList<Integer>(flipper()), keys);
+                }
+            };
+        case "towerskiplist.get":
+            return new Input() {
+                private TowerSkipList<Integer> list;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    list = fillSkipList(
+                            new TowerSkipList<Integer>(flipper()), keys);
+                }
+
+                @Override
+                public Object run() {
+                    return getAll(list, keys);
+                }
+            };
+        case "maxheap.add":
+            return new Input() {
+                @Override
+                public Object run() {
+                    return fillMaxHeap(keys);
+                }
+            };
+        case "maxheap.heapify":
+            return new Input() {
+                private List<Integer> batch;
+
+                @Override
+                public void setup(int size, String distribution) {
+                    super.setup(size, distribution);
+                    batch = Arrays.asList(keys);
+                }
+
+                @Override
+                public Object run() {
+                    return new MaxHeap<Integer>(batch);
+                }
+            };
+        case "maxheap.remove":
+            return new Input() {
+                private MaxHeap<Integer> heap;
+
+                @Override
+                public void reset() {
+                    heap = fillMaxHeap(keys);
+                }
+
+                @Override
+                public Object run() {
+                    int sum = 0;
+                    while (!heap.isEmpty()) {
+                        sum += heap.remove();
+                    }
+                    return sum;
+                }
+            };
+        case "arrayqueue.enqueueDequeue":
+            return new Input() {
+                @Override
+                public Object run() {
+                    ArrayQueue<Integer> queue = new ArrayQueue<Integer>();
+                    int sum = 0;
+                    for (Integer key : keys) {
+                        queue.enqueue(key);
+                    }
+                    for (int count = 0; count < keys.length; count++) {
+                        sum += queue.dequeue();
+                    }
+                    return sum;
+                }
+            };
+        case "arraystack.pushPop":
+            return new Input() {
+                @Override
+                public Object run() {
+                    ArrayStack<Integer> stack = new ArrayStack<Integer>();
+                    int sum = 0;
+                    for (Integer key : keys) {
+                        stack.push(key);
+                    }
+                    for (int count = 0; count < keys.length; count++) {
+                        sum += stack.pop();
+                    }
+                    return sum;
+                }
+            };
+        case "sorting.bubblesort":
+        case "sorting.insertionsort":
+        case "sorting.shellsort":
+        case "sorting.ciuraShellsort":
+        case "sorting.tokudaShellsort":
+        case "sorting.quicksort":
+        case "sorting.threeWayQuicksort":
+        case "sorting.mergesort":
+        case "sorting.naturalMergesort":
+        case "sorting.sort":
+            return new ObjectSort(operation.substring("sorting.".length()));
+        case "sorting.radixsort":
+        case "sorting.sortInts":
+        case "sorting.shellsortInts":
+            return new IntSort(operation.substring("sorting.".length()));
+        case "graph.dijkstraShortestPath":
+            return new GraphInput() {
+                @Override
+                public Object run() {
+                    return GraphAlgorithms.dijkstraShortestPath(graph,
+                            new Vertex(0));
+                }
+            };
+        case "graph.floydWarshall":
+            return new GraphInput() {
+                @Override
+                public Object run() {
+                    return GraphAlgorithms.floydWarshall(graph);
+                }
+            };
+        case "graph.topologicalSort":
+            return new GraphInput() {
+                @Override
+                public Object run() {
+                    return GraphAlgorithms.topologicalSort(graph);
+                }
+            };
+        default:
+            throw new IllegalArgumentException("Unknown operation "
+                    + operation);
+        }
+    }
+
+    /**
+     * Adds every key to a new HashMap
+     *
+     * @param keys the keys
+     * @return the filled HashMap
+     */
+    private static HashMap<Integer, Integer> fillHashMap(Integer[] keys) {
+        HashMap<Integer, Integer> map = new HashMap<Integer, Integer>();
+        for (Integer key : keys) {
+            map.add(key, key);
+        }
+        return map;
+    }
+
+    /**
+     * Adds every key to a new AVL
+     *
+     * @param keys the keys
+     * @return the filled AVL
+     */
+    private static AVL<Integer> fillAVL(Integer[] keys) {
+        AVL<Integer> tree = new AVL<Integer>();
+        for (Integer key : keys) {
+            tree.add(key);
+        }
+        return tree;
+    }
+
+    /**
+     * Adds every key to a new BST
+     *
+     * @param keys the keys
+     * @return the filled BST
+     */
+    private static BST<Integer> fillBST(Integer[] keys) {
+        BST<Integer> tree = new BST<Integer>();
+        for (Integer key : keys) {
+            tree.add(key);
+        }
+        return tree;
+    }
+
+    /**
+     * Adds every key to a new BPlusTree with the default fanout
+     *
+     * @param keys the keys
+     * @return the filled BPlusTree
+     */
+    private static BPlusTree<Integer> fillBPlusTree(Integer[] keys) {
+        BPlusTree<Integer> tree = new BPlusTree<Integer>();
+        for (Integer key : keys) {
+            tree.add(key);
+        }
+        return tree;
+    }
+
+    /**
+     * Iterates over a whole collection in order
+     *
+     * @param data the collection
+     * @return the sum of the data, so the iteration is not optimized away
+     */
+    private static long sum(Iterable<Integer> data) {
+        long sum = 0;
+        for (Integer key : data) {
+            sum += key;
+        }
+        return sum;
+    }
+
+    /**
+     * Sorts a copy of the keys
+     *
+     * @param ints the keys
+     * @return the keys in ascending order
+     */
+    private static int[] sortedInts(int[] ints) {
+        int[] sorted = ints.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Sorts and boxes a copy of the keys, for the bulk loaders
+     *
+     * @param ints the keys
+     * @return the keys in ascending order
+     */
+    private static List<Integer> sortedKeys(int[] ints) {
+        return Arrays.asList(Keys.box(sortedInts(ints)));
+    }
+
+    /**
+     * Puts every key in an empty skip list
+     *
+     * @param list the empty skip list
+     * @param keys the keys to put
+     * @param <L> the type of the skip list
+     * @return the filled skip list
+     */
+    private static <L extends SkipListInterface<Integer>> L fillSkipList(
+            L list, Integer[] keys) {
+        for (Integer key : keys) {
+            list.put(key);
+        }
+        return list;
+    }
+
+    /**
+     * Gets every key from a skip list
+     *
+     * @param list the skip list
+     * @param keys the keys to get
+     * @return the sum of the keys, so the gets are not optimized away
+     */
+    private static int getAll(SkipListInterface<Integer> list,
+            Integer[] keys) {
+        int found = 0;
+        for (Integer key : keys) {
+            found += list.get(key);
+        }
+        return found;
+    }
+
+    /**
+     * @return a CoinFlipper seeded the same way for every skip list
+     */
+    private static CoinFlipper flipper() {
+        return new CoinFlipper(new Random(Keys.SEED));
+    }
+
+    /**
+     * Adds every key to a new MaxHeap
+     *
+     * @param keys the keys
+     * @return the filled MaxHeap
+     */
+    private static MaxHeap<Integer> fillMaxHeap(Integer[] keys) {
+        MaxHeap<Integer> heap = new MaxHeap<Integer>();
+        for (Integer key : keys) {
+            heap.add(key);
+        }
+        return heap;
+    }
+
+    /**
+     * A workload over generated keys, boxed once during setup
+     */
+    private abstract static class Input implements Workload {
+        protected int[] ints;
+        protected Integer[] keys;
+
+        @Override
+        public void setup(int size, String distribution) {
+            ints = Keys.generate(size, distribution);
+            keys = Keys.box(ints);
+        }
+    }
+
+    /**
+     * Sorts a fresh copy of the boxed keys with one of the Sorting methods
+     */
+    private static final class ObjectSort extends Input {
+        private final String algorithm;
+        private final Comparator<Integer> comparator =
+                Comparator.naturalOrder();
+        private Integer[] arr;
+
+        /**
+         * @param algorithm name of the Sorting method
+         */
+        private ObjectSort(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        @Override
+        public void reset() {
+            arr = keys.clone();
+        }
+
+        @Override
+        public Object run() {
+            switch (algorithm) {
+            case "bubblesort":
+                Sorting.bubblesort(arr, comparator);
+                break;
+            case "insertionsort":
+                Sorting.insertionsort(arr, comparator);
+                break;
+            case "shellsort":
+                Sorting.shellsort(arr, comparator);
+                break;
+            case "ciuraShellsort":
+                Sorting.ciuraShellsort(arr, comparator);
+                break;
+            case "tokudaShellsort":
+                Sorting.tokudaShellsort(arr, comparator);
+                break;
+            case "quicksort":
+                Sorting.quicksort(arr, comparator, new Random(Keys.SEED));
+                break;
+            case "threeWayQuicksort":
+                Sorting.threeWayQuicksort(arr, comparator,
+                        new Random(Keys.SEED));
+                break;
+            case "mergesort":
+                Sorting.mergesort(arr, comparator);
+                break;
+            case "naturalMergesort":
+                Sorting.naturalMergesort(arr, comparator);
+                break;
+            default:
+                Sorting.sort(arr, comparator);
+                break;
+            }
+            return arr;
+        }
+    }
+
+    /**
+     * Sorts a fresh copy of the int keys with one of the Sorting methods
+     */
+    private static final class IntSort extends Input {
+        private final String algorithm;
+        private int[] arr;
+
+        /**
+         * @param algorithm name of the Sorting method
+         */
+        private IntSort(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        @Override
+        public void reset() {
+            arr = ints.clone();
+        }
+
+        @Override
+        public Object run() {
+            switch (algorithm) {
+            case "radixsort":
+                return Sorting.radixsort(arr);
+            case "sortInts":
+                return Sorting.sort(arr);
+            default:
+                Sorting.shellsort(arr);
+                return arr;
+            }
+        }
+    }
+
+    /**
+     * A workload over a generated weighted directed acyclic graph. Every
+     * edge goes from a lower to a higher vertex, so the same graph works
+     * for shortest paths and topological sort. The distribution is
+     * "sparse" (a few edges per vertex) or "dense" (edges to a quarter of
+     * the vertices).
+     */
+    private abstract static class GraphInput implements Workload {
+        protected Graph graph;
+
+        @Override
+        public void setup(int size, String distribution) {
+            int degree;
+            if (distribution.equals("sparse")) {
+                degree = SPARSE_DEGREE;
+            } else if (distribution.equals("dense")) {
+                degree = Math.max(SPARSE_DEGREE, size / 4);
+            } else {
+                throw new IllegalArgumentException("Unknown distribution "
+                        + distribution);
+            }
+            Random rand = new Random(Keys.SEED);
+            StringBuilder edges = new StringBuilder();
+            int numEdges = 0;
+            for (int u = 0; u < size - 1; u++) {
+                for (int edge = 0; edge < degree; edge++) {
+                    int v = u + 1 + rand.nextInt(size - u - 1);
+                    edges.append(' ').append(u).append(' ').append(v)
+                            .append(' ').append(rand.nextInt(100) + 1);
+                    numEdges++;
+                }
+            }
+            graph = new Graph(true, numEdges + " " + size + edges);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to run each collection operation once over size keys, e.g. adding
+ * every key to an empty HashMap or getting every key from a full AVL.
+ * *.scan iterates over every key in order.
+ * <p>
+ * BST does not balance, so bst.* on sorted or reverse input degenerates
+ * into a linked list.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionBenchmark {
+
+    @Param({"hashmap.add", "hashmap.get", "hashmap.remove",
+        "avl.add", "avl.get", "avl.scan", "bst.add", "bst.get", "bst.scan",
+        "bplustree.add", "bplustree.get", "bplustree.scan",
+        "skiplist.put", "skiplist.putAll", "skiplist.fromSorted",
+        "skiplist.get", "towerskiplist.put", "towerskiplist.get",
+        "maxheap.add", "maxheap.heapify", "maxheap.remove",
+        "arrayqueue.enqueueDequeue", "arraystack.pushPop"})
+    private String operation;
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    @Param({"random", "sorted", "reverse"})
+    private String distribution;
+
+    private Workload workload;
+
+    /**
+     * Builds the input and any structure the operation reads from
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        workload = Workload.create(operation);
+        workload.setup(size, distribution);
+    }
+
+    /**
+     * Restores the state the operation consumes
+     */
+    @Setup(Level.Invocation)
+    public void reset() {
+        workload.reset();
+    }
+
+    /**
+     * @return the result of the operation
+     */
+    @Benchmark
+    public Object run() {
+        return workload.run();
+    }
+}
@@ -0,0 +1,60 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to run each GraphAlgorithms method on a generated directed acyclic
+ * graph with size vertices. A sparse graph has a few edges per vertex, a
+ * dense one has edges to a quarter of the vertices.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphBenchmark {
+
+    @Param({"dijkstraShortestPath", "floydWarshall", "topologicalSort"})
+    private String algorithm;
+
+    @Param({"100", "1000"})
+    private int size;
+
+    @Param({"sparse", "dense"})
+    private String distribution;
+
+    private Workload workload;
+
+    /**
+     * Generates the graph
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        workload = Workload.create("graph." + algorithm);
+        workload.setup(size, distribution);
+    }
+
+    /**
+     * @return the result of the algorithm
+     */
+    @Benchmark
+    public Object run() {
+        return workload.run();
+    }
+}
@@ -0,0 +1,83 @@
+package benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generates benchmark input. Every distribution is seeded, so every run
+ * of a benchmark sees the same input.
+ *
+ * @version 1.0
+ */
+public final class Keys {
+
+    /**
+     * The seed of every generated input
+     */
+    public static final long SEED = 0x5eedL;
+
+    /**
+     * No instances
+     */
+    private Keys() {
+    }
+
+    /**
+     * Generates size ints laid out as:
+     * random     - a shuffled permutation of 0 to size - 1
+     * sorted     - 0 to size - 1 ascending
+     * reverse    - size - 1 to 0 descending
+     * duplicates - random values out of only size / 16 distinct ones
+     *
+     * @param size         the number of ints
+     * @param distribution one of the layouts above
+     * @return the generated ints
+     * @throws IllegalArgumentException if the distribution is unknown
+     */
+    public static int[] generate(int size, String distribution) {
+        Random rand = new Random(SEED);
+        int[] keys = new int[size];
+        for (int index = 0; index < size; index++) {
+            keys[index] = index;
+        }
+        switch (distribution) {
+        case "random":
+            for (int index = size - 1; index > 0; index--) {
+                int other = rand.nextInt(index + 1);
+                int temp = keys[index];
+                keys[index] = keys[other];
+                keys[other] = temp;
+            }
+            break;
+        case "sorted":
+            break;
+        case "reverse":
+            for (int index = 0; index < size; index++) {
+                keys[index] = size - 1 - index;
+            }
+            break;
+        case "duplicates":
+            for (int index = 0; index < size; index++) {
+                keys[index] = rand.nextInt(size / 16 + 1);
+            }
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown distribution "
+                    + distribution);
+        }
+        return keys;
+    }
+
+    /**
+     * Boxes the ints, outside of the timed part of a benchmark
+     *
+     * @param keys the ints to box
+     * @return the boxed ints
+     */
+    public static Integer[] box(int[] keys) {
+        Integer[] boxed = new Integer[keys.length];
+        for (int index = 0; index < keys.length; index++) {
+            boxed[index] = keys[index];
+        }
+        return boxed;
+    }
+}
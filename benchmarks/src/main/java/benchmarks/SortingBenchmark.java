@@ -0,0 +1,74 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to sort size ints with each Sorting method. The Comparator sorts
+ * get a fresh boxed copy of the input every invocation, the int sorts a
+ * fresh int[] copy; copying is not timed.
+ * <p>
+ * bubblesort and insertionsort are O(n^2) on anything but sorted input,
+ * so keep their sizes small.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortingBenchmark {
+
+    @Param({"bubblesort", "insertionsort", "shellsort", "ciuraShellsort",
+        "tokudaShellsort", "quicksort", "threeWayQuicksort", "mergesort",
+        "naturalMergesort", "sort", "radixsort", "sortInts",
+        "shellsortInts"})
+    private String algorithm;
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    @Param({"random", "sorted", "reverse", "duplicates"})
+    private String distribution;
+
+    private Workload workload;
+
+    /**
+     * Generates the input
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        workload = Workload.create("sorting." + algorithm);
+        workload.setup(size, distribution);
+    }
+
+    /**
+     * Copies the unsorted input
+     */
+    @Setup(Level.Invocation)
+    public void reset() {
+        workload.reset();
+    }
+
+    /**
+     * @return the sorted array
+     */
+    @Benchmark
+    public Object run() {
+        return workload.run();
+    }
+}
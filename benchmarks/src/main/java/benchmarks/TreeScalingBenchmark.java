@@ -0,0 +1,64 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of a single insert (plus the remove that undoes it) into, or a
+ * single lookup in, a tree that already holds size keys. With O(log n)
+ * operations the time should only grow by a constant step for every 10x
+ * in size, up to 10M; the step shows how many cache misses each extra
+ * level costs in AVL compared to BPlusTree.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TreeScalingBenchmark {
+
+    @Param({"avl.addRemove", "pooledavl.addRemove", "bplustree.addRemove",
+        "avl.lookup",
+        "bplustree.lookup"})
+    private String operation;
+
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"random"})
+    private String distribution;
+
+    private Workload workload;
+
+    /**
+     * Builds the tree
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        workload = Workload.create(operation);
+        workload.setup(size, distribution);
+    }
+
+    /**
+     * @return the removed key
+     */
+    @Benchmark
+    public Object run() {
+        return workload.run();
+    }
+}
@@ -0,0 +1,61 @@
+package benchmarks;
+
+/**
+ * One benchmarked operation on one of the data structures.
+ * <p>
+ * The data structures live in the default package, which JMH benchmarks
+ * cannot (JMH refuses default package benchmarks, and named packages cannot
+ * import the default package). The operations are therefore implemented by
+ * the default package Workloads class and looked up by name here.
+ *
+ * @version 1.0
+ */
+public interface Workload {
+
+    /**
+     * Builds the input, and any structure the operation reads from. Called
+     * once per trial and not timed.
+     *
+     * @param size         the number of elements (or vertices)
+     * @param distribution how the input is laid out, see Keys
+     */
+    void setup(int size, String distribution);
+
+    /**
+     * Restores the state run() consumes, e.g. an unsorted copy of the
+     * input or a full heap to remove from. Called before every run() and
+     * not timed.
+     */
+    default void reset() {
+    }
+
+    /**
+     * Runs the operation once over the whole input.
+     *
+     * @return a result for the benchmark to return so the JIT keeps the work
+     */
+    Object run();
+
+    /**
+     * Finds the workload with the given name.
+     *
+     * @param operation the name of the operation, e.g. "hashmap.add"
+     * @return a new workload for the operation
+     * @throws IllegalArgumentException if there is no such operation
+     */
+    static Workload create(String operation) {
+        try {
+            return (Workload) Class.forName("Workloads")
+                    .getMethod("create", String.class)
+                    .invoke(null, operation);
+        } catch (java.lang.reflect.InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Workloads is not on the "
+                    + "classpath", e);
+        }
+    }
+}